@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory providers and release file fixtures shared by the benchmarks, so that they measure the detection
+ * itself rather than the file system.
+ */
+final class BenchmarkFixtures {
+
+    static final String UBUNTU_OS_RELEASE = "PRETTY_NAME=\"Ubuntu 22.04.4 LTS\"\n"
+            + "NAME=\"Ubuntu\"\n"
+            + "VERSION_ID=\"22.04\"\n"
+            + "VERSION=\"22.04.4 LTS (Jammy Jellyfish)\"\n"
+            + "VERSION_CODENAME=jammy\n"
+            + "ID=ubuntu\n"
+            + "ID_LIKE=debian\n"
+            + "HOME_URL=\"https://www.ubuntu.com/\"\n"
+            + "SUPPORT_URL=\"https://help.ubuntu.com/\"\n"
+            + "BUG_REPORT_URL=\"https://bugs.launchpad.net/ubuntu/\"\n"
+            + "PRIVACY_POLICY_URL=\"https://www.ubuntu.com/legal/terms-and-policies/privacy-policy\"\n"
+            + "UBUNTU_CODENAME=jammy\n";
+
+    static final String FEDORA_OS_RELEASE = "NAME=\"Fedora Linux\"\n"
+            + "VERSION=\"40 (Container Image)\"\n"
+            + "ID=fedora\n"
+            + "VERSION_ID=40\n"
+            + "VERSION_CODENAME=\"\"\n"
+            + "PLATFORM_ID=\"platform:f40\"\n"
+            + "PRETTY_NAME=\"Fedora Linux 40 (Container Image)\"\n"
+            + "ANSI_COLOR=\"0;38;2;60;110;180\"\n"
+            + "LOGO=fedora-logo-icon\n"
+            + "CPE_NAME=\"cpe:/o:fedoraproject:fedora:40\"\n"
+            + "DEFAULT_HOSTNAME=\"fedora\"\n"
+            + "HOME_URL=\"https://fedoraproject.org/\"\n"
+            + "DOCUMENTATION_URL=\"https://docs.fedoraproject.org/en-US/fedora/f40/system-administrators-guide/\"\n"
+            + "SUPPORT_URL=\"https://ask.fedoraproject.org/\"\n"
+            + "BUG_REPORT_URL=\"https://bugzilla.redhat.com/\"\n"
+            + "REDHAT_BUGZILLA_PRODUCT=\"Fedora\"\n"
+            + "REDHAT_BUGZILLA_PRODUCT_VERSION=40\n"
+            + "REDHAT_SUPPORT_PRODUCT=\"Fedora\"\n"
+            + "REDHAT_SUPPORT_PRODUCT_VERSION=40\n"
+            + "SUPPORT_END=2025-05-13\n"
+            + "VARIANT=\"Container Image\"\n"
+            + "VARIANT_ID=container\n";
+
+    static final String RHEL_OS_RELEASE = "NAME=\"Red Hat Enterprise Linux\"\n"
+            + "VERSION=\"9.4 (Plow)\"\n"
+            + "ID=\"rhel\"\n"
+            + "ID_LIKE=\"fedora\"\n"
+            + "VERSION_ID=\"9.4\"\n"
+            + "PLATFORM_ID=\"platform:el9\"\n"
+            + "PRETTY_NAME=\"Red Hat Enterprise Linux 9.4 (Plow)\"\n"
+            + "ANSI_COLOR=\"0;31\"\n"
+            + "LOGO=\"fedora-logo-icon\"\n"
+            + "CPE_NAME=\"cpe:/o:redhat:enterprise_linux:9::baseos\"\n"
+            + "HOME_URL=\"https://www.redhat.com/\"\n"
+            + "BUG_REPORT_URL=\"https://issues.redhat.com/\"\n";
+
+    static final String ALPINE_OS_RELEASE = "NAME=\"Alpine Linux\"\n"
+            + "ID=alpine\n"
+            + "VERSION_ID=3.20.0\n"
+            + "PRETTY_NAME=\"Alpine Linux v3.20\"\n"
+            + "HOME_URL=\"https://alpinelinux.org/\"\n"
+            + "BUG_REPORT_URL=\"https://gitlab.alpinelinux.org/alpine/aports/-/issues\"\n";
+
+    /**
+     * Every {@code os.name} and {@code os.arch} value covered by the normalization tests.
+     */
+    static final String[] OS_NAMES = {
+        "aix", "AIX", "hpux", "HP-UX", "os400", "OS/400", "linux", "Linux", "mac", "Mac OS X", "osx", "freebsd",
+        "FreeBSD", "openbsd", "OpenBSD", "netbsd", "NetBSD", "solaris", "SunOS", "windows", "Windows", "Windows 11",
+        "zos", "z/OS", "unknown_os"
+    };
+
+    static final String[] OS_ARCHS = {
+        "x8664", "x86_64", "amd64", "ia32e", "em64t", "x64", "x8632", "x86", "i386", "i486", "i586", "i686", "ia32",
+        "x32", "ia64", "ia64w", "itanium64", "ia64n", "sparc", "sparc32", "sparcv9", "sparc64", "arm", "arm32",
+        "aarch64", "mips", "mips32", "mipsel", "mips32el", "mips64", "mips64el", "ppc", "ppc32", "ppcle", "ppc32le",
+        "ppc64", "ppc64le", "s390", "s390x", "riscv", "riscv32", "riscv64", "e2k", "loongarch64", "unknown_arch"
+    };
+
+    /**
+     * Typical {@code os.version} values of Linux, Windows, macOS, Solaris and FreeBSD.
+     */
+    static final String[] OS_VERSIONS = {
+        "6.8.0-45-generic", "5.15.153.1-microsoft-standard-WSL2", "10.0", "14.4.1", "15.0", "7.3", "5.11",
+        "13.2-RELEASE", "2.6", "unknown"
+    };
+
+    static SystemPropertyOperationProvider systemProperties(String osName, String osArch, String osVersion) {
+        final Map<String, String> props = new HashMap<>();
+        props.put("os.name", osName);
+        props.put("os.arch", osArch);
+        props.put("os.version", osVersion);
+        props.put("sun.arch.data.model", "64");
+        return new SystemPropertyOperationProvider() {
+            @Override
+            public String getSystemProperty(String name) {
+                return props.get(name);
+            }
+
+            @Override
+            public String getSystemProperty(String name, String def) {
+                return props.getOrDefault(name, def);
+            }
+
+            @Override
+            public String setSystemProperty(String name, String value) {
+                // Do not pollute the system properties of the benchmark JVM.
+                return null;
+            }
+        };
+    }
+
+    static FileOperationProvider files(String... pathsAndContents) {
+        final Map<String, byte[]> files = new HashMap<>();
+        for (int i = 0; i < pathsAndContents.length; i += 2) {
+            files.put(pathsAndContents[i], pathsAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+        }
+        return filePath -> {
+            final byte[] content = files.get(filePath);
+            if (content == null) {
+                throw new FileNotFoundException(filePath);
+            }
+            return new ByteArrayInputStream(content);
+        };
+    }
+
+    static Detector detector(SystemPropertyOperationProvider systemProperties, FileOperationProvider files) {
+        return new Detector(systemProperties, files) {
+            @Override
+            protected void log(String message) {}
+
+            @Override
+            protected void logProperty(String name, String value) {}
+        };
+    }
+
+    private BenchmarkFixtures() {}
+}
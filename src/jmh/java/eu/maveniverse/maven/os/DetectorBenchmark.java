@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full {@link Detector#detect(Properties, List)} with in-memory system properties and release files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetectorBenchmark {
+
+    @Param({"linux", "windows", "osx"})
+    public String platform;
+
+    private Detector detector;
+    private List<String> classifierWithLikes;
+
+    @Setup
+    public void setup() {
+        switch (platform) {
+            case "linux":
+                detector = BenchmarkFixtures.detector(
+                        BenchmarkFixtures.systemProperties("Linux", "amd64", "6.8.0-40-generic"),
+                        BenchmarkFixtures.files("/etc/os-release", BenchmarkFixtures.UBUNTU_OS_RELEASE));
+                classifierWithLikes = List.of("rhel", "debian");
+                break;
+            case "windows":
+                detector = BenchmarkFixtures.detector(
+                        BenchmarkFixtures.systemProperties("Windows 11", "amd64", "10.0"),
+                        BenchmarkFixtures.files());
+                classifierWithLikes = Collections.emptyList();
+                break;
+            default:
+                detector = BenchmarkFixtures.detector(
+                        BenchmarkFixtures.systemProperties("Mac OS X", "aarch64", "14.5"), BenchmarkFixtures.files());
+                classifierWithLikes = Collections.emptyList();
+                break;
+        }
+    }
+
+    @Benchmark
+    public Properties detect() {
+        final Properties props = new Properties();
+        detector.detect(props, classifierWithLikes);
+        return props;
+    }
+}
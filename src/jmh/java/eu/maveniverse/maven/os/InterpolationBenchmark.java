@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@link ModelInterpolator} pass over synthetic models, where a share of the
+ * dependencies use detected properties, and {@link Interpolator} on single values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterpolationBenchmark {
+
+    @Param({"10", "100"})
+    public int dependencies;
+
+    private final Map<String, String> dict = new LinkedHashMap<>();
+    private Model template;
+    private MavenProject project;
+
+    @Setup
+    public void setup() {
+        dict.put(Detector.DETECTED_NAME, "linux");
+        dict.put(Detector.DETECTED_ARCH, "x86_64");
+        dict.put(Detector.DETECTED_BITNESS, "64");
+        dict.put(Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+        dict.put(Detector.DETECTED_RELEASE, "ubuntu");
+        dict.put(Detector.DETECTED_RELEASE_VERSION, "22.04");
+        dict.put(Detector.DETECTED_RELEASE_LIKE_PREFIX + "ubuntu", "true");
+        dict.put(Detector.DETECTED_RELEASE_LIKE_PREFIX + "debian", "true");
+
+        template = new Model();
+        template.setGroupId("com.example");
+        template.setArtifactId("synthetic");
+        template.setVersion("1.0.0");
+        final DependencyManagement depMgmt = new DependencyManagement();
+        final Build build = new Build();
+        final Plugin plugin = new Plugin();
+        plugin.setArtifactId("protobuf-maven-plugin");
+        build.addPlugin(plugin);
+        for (int i = 0; i < dependencies; i++) {
+            // One dependency out of four uses a detected property, like in typical projects.
+            final boolean detected = i % 4 == 0;
+            template.addDependency(dependency(i, detected));
+            depMgmt.addDependency(dependency(i, detected));
+            if (i % 10 == 0) {
+                plugin.addDependency(dependency(i, true));
+            }
+        }
+        template.setDependencyManagement(depMgmt);
+        template.setBuild(build);
+    }
+
+    @Setup(Level.Invocation)
+    public void cloneModel() {
+        project = new MavenProject(template.clone());
+    }
+
+    @Benchmark
+    public MavenProject interpolateProject() {
+        new ModelInterpolator(dict, ModelInterpolator.newModelSet()).interpolate(project);
+        return project;
+    }
+
+    @Benchmark
+    public String interpolateValue() {
+        return Interpolator.interpolate(dict, "netty-tcnative-${os.detected.classifier}-${os.detected.release}");
+    }
+
+    @Benchmark
+    public String interpolatePlainValue() {
+        return Interpolator.interpolate(dict, "netty-tcnative-boringssl-static");
+    }
+
+    private static Dependency dependency(int i, boolean detected) {
+        final Dependency d = new Dependency();
+        d.setGroupId("com.example");
+        d.setArtifactId("artifact-" + i);
+        d.setVersion("${project.version}");
+        if (detected) {
+            d.setClassifier("${os.detected.classifier}");
+        }
+        final Exclusion e = new Exclusion();
+        e.setGroupId("org.unwanted");
+        e.setArtifactId("unwanted-" + i);
+        d.addExclusion(e);
+        return d;
+    }
+}
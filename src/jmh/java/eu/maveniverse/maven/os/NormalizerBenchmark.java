@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Normalizer} over the full alias corpus, reported per normalized value. The batch benchmarks
+ * normalize client-reported {@code os.name}/{@code os.arch}/{@code os.version} triples, as an artifact proxy would;
+ * run them with {@code -t <threads>} to check that the throughput scales with the cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NormalizerBenchmark {
+
+    private final Normalizer normalizer = Normalizer.getDefault();
+    private final String[] osNames = BenchmarkFixtures.OS_NAMES;
+    private final String[] osArchs = BenchmarkFixtures.OS_ARCHS;
+    private final String[] osVersions = BenchmarkFixtures.OS_VERSIONS;
+
+    @Benchmark
+    @OperationsPerInvocation(25)
+    public void normalizeOs(Blackhole bh) {
+        for (String osName : osNames) {
+            bh.consume(normalizer.normalizeOs(osName));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(45)
+    public void normalizeArch(Blackhole bh) {
+        for (String osArch : osArchs) {
+            bh.consume(normalizer.normalizeArch(osArch));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void normalizeVersion(Blackhole bh) {
+        for (String osVersion : osVersions) {
+            bh.consume(normalizer.normalizeVersion(osVersion));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(80)
+    public void normalizeBatch(Blackhole bh) {
+        bh.consume(normalizer.normalizeOsBatch(osNames));
+        bh.consume(normalizer.normalizeArchBatch(osArchs));
+        bh.consume(normalizer.normalizeVersionBatch(osVersions));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing of realistic {@code os-release} files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OsReleaseBenchmark {
+    private static final String OS_RELEASE_FILE = "/etc/os-release";
+
+    @Param({"ubuntu", "fedora", "rhel", "alpine"})
+    public String distribution;
+
+    private Detector detector;
+
+    @Setup
+    public void setup() {
+        final String content;
+        switch (distribution) {
+            case "ubuntu":
+                content = BenchmarkFixtures.UBUNTU_OS_RELEASE;
+                break;
+            case "fedora":
+                content = BenchmarkFixtures.FEDORA_OS_RELEASE;
+                break;
+            case "rhel":
+                content = BenchmarkFixtures.RHEL_OS_RELEASE;
+                break;
+            default:
+                content = BenchmarkFixtures.ALPINE_OS_RELEASE;
+                break;
+        }
+        detector = BenchmarkFixtures.detector(
+                BenchmarkFixtures.systemProperties("Linux", "amd64", "6.8.0"),
+                BenchmarkFixtures.files(OS_RELEASE_FILE, content));
+    }
+
+    @Benchmark
+    public Object parseOsRelease() {
+        return detector.parseLinuxOsReleaseFile(OS_RELEASE_FILE);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Checks whether artifacts can be resolved, abstracting the repository system away from the code deciding which
+ * artifacts to resolve.
+ */
+interface ArtifactAvailability {
+
+    /**
+     * The outcome of the resolution of an artifact.
+     */
+    enum Status {
+        /**
+         * The artifact was resolved.
+         */
+        AVAILABLE,
+        /**
+         * The artifact is not published in any of the repositories.
+         */
+        NOT_FOUND,
+        /**
+         * The artifact could not be resolved for another reason, such as a transfer error or a timeout, which may be
+         * transient and therefore must not be remembered.
+         */
+        FAILED
+    }
+
+    /**
+     * Resolves the artifact of a dependency.
+     *
+     * @param project the project declaring the dependency, whose repositories are used.
+     * @param dependency the dependency, with its final coordinates.
+     * @param pluginDependency whether the dependency is a dependency of a plugin, which is resolved from the plugin
+     *        repositories of the project.
+     * @return the outcome of the resolution.
+     */
+    Status resolve(MavenProject project, Dependency dependency, boolean pluginDependency);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Falls back to less specific classifiers for the dependencies whose classifier contains the detected classifier,
+ * when the artifact with the detected classifier is not published. For example, a {@code linux-x86_64-v3} classifier
+ * falls back to {@code linux-x86_64}.
+ */
+final class ClassifierFallback {
+
+    /**
+     * The property enabling the fallback to less specific classifiers.
+     */
+    static final String FALLBACK_PROPERTY = "os.detection.classifierFallback";
+
+    private final Logger logger;
+    private final String classifier;
+    private final List<String> chain;
+    private final ArtifactAvailability availability;
+    private final UnavailableArtifacts unavailable;
+    private final Set<String> available = new HashSet<>();
+
+    ClassifierFallback(
+            Logger logger,
+            Map<String, String> dict,
+            ArtifactAvailability availability,
+            UnavailableArtifacts unavailable) {
+        this.logger = logger;
+        this.classifier = dict.get(Detector.DETECTED_CLASSIFIER);
+        this.chain = getChain(dict);
+        this.availability = availability;
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * Returns the classifiers to try, from the detected one to the plain {@code <name>-<arch>} one, e.g.
+     * {@code linux-x86_64-v3-rhel}, {@code linux-x86_64-v3} and {@code linux-x86_64}.
+     */
+    static List<String> getChain(Map<String, String> dict) {
+        final List<String> chain = new ArrayList<>();
+        final String classifier = dict.get(Detector.DETECTED_CLASSIFIER);
+        if (classifier == null) {
+            return chain;
+        }
+        chain.add(classifier);
+        final String base = dict.get(Detector.DETECTED_NAME) + '-' + dict.get(Detector.DETECTED_ARCH);
+        final String level = dict.get(CpuFeatureProbe.DETECTED_ARCH_LEVEL);
+        if (level != null) {
+            final String withLevel = base + '-' + level;
+            if (classifier.startsWith(withLevel + '-')) {
+                chain.add(withLevel);
+            }
+        }
+        if (!classifier.equals(base) && classifier.startsWith(base + '-')) {
+            chain.add(base);
+        }
+        return chain;
+    }
+
+    /**
+     * Applies the fallback to the dependencies and managed dependencies of a project.
+     */
+    void apply(MavenProject project) {
+        final Model model = project.getModel();
+        for (Dependency dependency : model.getDependencies()) {
+            apply(project, dependency);
+        }
+        final DependencyManagement depMgmt = model.getDependencyManagement();
+        if (depMgmt != null) {
+            for (Dependency dependency : depMgmt.getDependencies()) {
+                apply(project, dependency);
+            }
+        }
+    }
+
+    private void apply(MavenProject project, Dependency dependency) {
+        final String original = dependency.getClassifier();
+        final String version = dependency.getVersion();
+        if (original == null || !original.contains(classifier) || version == null || version.contains("${")) {
+            return;
+        }
+        for (String candidate : chain) {
+            final Dependency d = dependency.clone();
+            d.setClassifier(original.replace(classifier, candidate));
+            final String key = getKey(d);
+            if (available.contains(key)) {
+                dependency.setClassifier(d.getClassifier());
+                return;
+            }
+            if (unavailable.contains(key)) {
+                continue;
+            }
+            final ArtifactAvailability.Status status = availability.resolve(project, d, false);
+            if (status == ArtifactAvailability.Status.AVAILABLE) {
+                available.add(key);
+                if (!candidate.equals(classifier)) {
+                    logger.info("Falling back to " + key + " for " + project.getId());
+                }
+                dependency.setClassifier(d.getClassifier());
+                return;
+            }
+            if (status == ArtifactAvailability.Status.FAILED) {
+                // The artifact may well be published: keep the detected classifier, and do not remember it.
+                logger.warn("Could not check whether " + key + " is published, not falling back for "
+                        + project.getId());
+                return;
+            }
+            unavailable.add(key);
+        }
+        // No classifier is available: keep the detected one, so that the build reports it as missing.
+    }
+
+    private static String getKey(Dependency d) {
+        return d.getGroupId() + ':' + d.getArtifactId() + ':' + d.getType() + ':' + d.getClassifier() + ':'
+                + d.getVersion();
+    }
+}
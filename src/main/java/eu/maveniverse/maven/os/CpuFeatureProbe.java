@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Detects the instruction set features of the CPU on Linux, from {@code /proc/cpuinfo} or, when it does not list
+ * them, from the hardware capabilities in {@code /proc/self/auxv}, and derives the microarchitecture level of
+ * x86-64 and AArch64 CPUs from them.
+ */
+final class CpuFeatureProbe extends PlatformProbe {
+    static final String GROUP = "cpuFeatures";
+
+    /**
+     * The system property adding the microarchitecture level to the classifier, which implies the detection of
+     * the CPU features.
+     */
+    static final String CLASSIFIER_LEVEL_PROPERTY = "os.detection.classifierLevel";
+
+    static final String DETECTED_CPU_FEATURES_PREFIX = "os.detected.cpu.features.";
+    static final String DETECTED_ARCH_LEVEL = "os.detected.arch.level";
+
+    private static final String CPUINFO_FILE = "/proc/cpuinfo";
+    private static final String AUXV_FILE = "/proc/self/auxv";
+    private static final int AUXV_MAX_LENGTH = 4096;
+    private static final long AT_NULL = 0;
+    private static final long AT_HWCAP = 16;
+    private static final long AT_HWCAP2 = 26;
+
+    // The x86-64 microarchitecture levels of the psABI, v1 being the baseline. Linux reports SSE3 as "pni".
+    private static final List<List<String>> X86_64_LEVELS = List.of(
+            List.of("cx16", "lahf_lm", "popcnt", "pni", "sse4_1", "sse4_2", "ssse3"),
+            List.of("avx", "avx2", "bmi1", "bmi2", "f16c", "fma", "abm", "movbe", "xsave"),
+            List.of("avx512f", "avx512bw", "avx512cd", "avx512dq", "avx512vl"));
+
+    // The features of the Armv8.x extensions reported by Linux, v8.0 being the baseline.
+    private static final List<List<String>> AARCH_64_LEVELS = List.of(
+            List.of("atomics", "asimdrdm"),
+            List.of("dcpop"),
+            List.of("jscvt", "fcma", "lrcpc"),
+            List.of("dit", "uscat", "ilrcpc", "flagm"),
+            List.of("sb", "flagm2", "frint"));
+
+    // The names of the AArch64 hardware capability bits of AT_HWCAP and AT_HWCAP2, see asm/hwcap.h.
+    private static final String[] AARCH_64_HWCAP = {
+        "fp", "asimd", "evtstrm", "aes", "pmull", "sha1", "sha2", "crc32", "atomics", "fphp", "asimdhp", "cpuid",
+        "asimdrdm", "jscvt", "fcma", "lrcpc", "dcpop", "sha3", "sm3", "sm4", "asimddp", "sha512", "sve", "asimdfhm",
+        "dit", "uscat", "ilrcpc", "flagm", "ssbs", "sb", "paca", "pacg"
+    };
+    private static final String[] AARCH_64_HWCAP2 = {
+        "dcpodp", "sve2", "sveaes", "svepmull", "svebitperm", "svesha3", "svesm4", "flagm2", "frint", "svei8mm",
+        "svef32mm", "svef64mm", "svebf16", "i8mm", "bf16", "dgh", "rng", "bti", "mte"
+    };
+
+    CpuFeatureProbe() {
+        super(GROUP, DETECTED_CPU_FEATURES_PREFIX, DETECTED_ARCH_LEVEL);
+    }
+
+    @Override
+    boolean isEnabled(SystemPropertyOperationProvider systemProperties) {
+        return super.isEnabled(systemProperties)
+                || Boolean.parseBoolean(systemProperties.getSystemProperty(CLASSIFIER_LEVEL_PROPERTY));
+    }
+
+    @Override
+    void detect(FileOperationProvider files, Map<String, String> detected) {
+        if (!"linux".equals(detected.get(Detector.DETECTED_NAME))) {
+            return;
+        }
+        final String arch = detected.get(Detector.DETECTED_ARCH);
+        Set<String> features = parseCpuinfo(readLines(files, CPUINFO_FILE));
+        if (features.isEmpty()) {
+            features = parseAuxv(
+                    readBytes(files, AUXV_FILE, AUXV_MAX_LENGTH), arch, detected.get(Detector.DETECTED_BITNESS));
+        }
+        for (String feature : features) {
+            detected.put(DETECTED_CPU_FEATURES_PREFIX + feature, "true");
+        }
+        final String level = getLevel(arch, features);
+        if (level != null) {
+            detected.put(DETECTED_ARCH_LEVEL, level);
+        }
+    }
+
+    /**
+     * Parses the features of the first processor listed in {@code /proc/cpuinfo}: the {@code flags} of x86 CPUs,
+     * the {@code Features} of ARM CPUs, or the extensions in the {@code isa} string of RISC-V CPUs.
+     */
+    static Set<String> parseCpuinfo(List<String> lines) {
+        final Set<String> features = new TreeSet<>();
+        if (lines == null) {
+            return features;
+        }
+        for (String line : lines) {
+            final int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            final String key = line.substring(0, colon).trim();
+            final String value = line.substring(colon + 1).trim().toLowerCase(Locale.US);
+            if ("flags".equals(key) || "Features".equals(key)) {
+                if (!value.isEmpty()) {
+                    Collections.addAll(features, value.split("\\s+"));
+                    break;
+                }
+            } else if ("isa".equals(key) && value.startsWith("rv")) {
+                parseRiscvIsa(value, features);
+                break;
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Parses a RISC-V ISA string such as {@code rv64imafdc_zicsr_zba}: single letter extensions follow the base,
+     * and multi-letter extensions are separated by underscores.
+     */
+    private static void parseRiscvIsa(String isa, Set<String> features) {
+        final String[] parts = isa.split("_");
+        final String base = parts[0].replaceFirst("^rv(32|64|128)", "");
+        for (int i = 0; i < base.length(); i++) {
+            final char c = base.charAt(i);
+            if (c == 'g') {
+                // The general purpose shorthand.
+                features.addAll(Arrays.asList("i", "m", "a", "f", "d", "zicsr", "zifencei"));
+            } else if (c >= 'a' && c <= 'z') {
+                features.add(String.valueOf(c));
+            }
+        }
+        for (int i = 1; i < parts.length; i++) {
+            if (!parts[i].isEmpty()) {
+                features.add(parts[i]);
+            }
+        }
+    }
+
+    /**
+     * Parses the hardware capabilities of the auxiliary vector, which is made of pairs of native words, for the
+     * architectures whose capabilities are defined as feature bits.
+     */
+    static Set<String> parseAuxv(byte[] auxv, String arch, String bitness) {
+        final Set<String> features = new TreeSet<>();
+        if (auxv == null || !("aarch_64".equals(arch) || "riscv64".equals(arch))) {
+            return features;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(auxv).order(ByteOrder.nativeOrder());
+        final boolean is64 = !"32".equals(bitness);
+        final int entryLength = is64 ? 16 : 8;
+        while (buffer.remaining() >= entryLength) {
+            final long type = is64 ? buffer.getLong() : Integer.toUnsignedLong(buffer.getInt());
+            final long value = is64 ? buffer.getLong() : Integer.toUnsignedLong(buffer.getInt());
+            if (type == AT_NULL) {
+                break;
+            }
+            if ("riscv64".equals(arch)) {
+                if (type == AT_HWCAP) {
+                    // One bit per single letter extension.
+                    for (int bit = 0; bit < 26; bit++) {
+                        if ((value & (1L << bit)) != 0) {
+                            features.add(String.valueOf((char) ('a' + bit)));
+                        }
+                    }
+                }
+            } else if (type == AT_HWCAP) {
+                addBits(value, AARCH_64_HWCAP, features);
+            } else if (type == AT_HWCAP2) {
+                addBits(value, AARCH_64_HWCAP2, features);
+            }
+        }
+        return features;
+    }
+
+    private static void addBits(long value, String[] names, Set<String> features) {
+        for (int bit = 0; bit < names.length; bit++) {
+            if ((value & (1L << bit)) != 0) {
+                features.add(names[bit]);
+            }
+        }
+    }
+
+    /**
+     * Returns the microarchitecture level of the CPU: {@code v1} to {@code v4} for x86-64, following the levels
+     * of the x86-64 psABI, and {@code v8.0} to {@code v8.5} for AArch64, followed by {@code -sve} or {@code -sve2}
+     * if the CPU supports the scalable vector extensions. Returns {@code null} for other architectures, or if no
+     * features were detected.
+     */
+    static String getLevel(String arch, Set<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+        if ("x86_64".equals(arch)) {
+            return "v" + (1 + countLevels(X86_64_LEVELS, features));
+        }
+        if ("aarch_64".equals(arch)) {
+            final String level = "v8." + countLevels(AARCH_64_LEVELS, features);
+            if (features.contains("sve2")) {
+                return level + "-sve2";
+            }
+            return features.contains("sve") ? level + "-sve" : level;
+        }
+        return null;
+    }
+
+    /**
+     * Counts the levels whose features are all supported, stopping at the first unsupported one.
+     */
+    private static int countLevels(List<List<String>> levels, Set<String> features) {
+        int count = 0;
+        for (List<String> level : levels) {
+            if (!features.containsAll(level)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+import javax.enterprise.inject.Typed;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.eventspy.EventSpy;
+
+/**
+ * Starts the detection on a background thread when Maven initializes its event spies, which it does before reading
+ * the settings and the toolchains and before creating the repository session, so that reading the release files
+ * overlaps with this work. The result is awaited by {@link DetectExtension} when the session starts.
+ * <p>
+ * Maven only initializes the event spies of its core extensions, so the detection is only started early when the
+ * plugin is registered in {@code .mvn/extensions.xml}. It is not started in Maven 4, where the properties are
+ * provided by {@link DetectPropertyContributor}.
+ */
+@Named("detect-os")
+@Singleton
+@Typed({EventSpy.class, DetectEventSpy.class})
+public class DetectEventSpy extends AbstractEventSpy {
+
+    /**
+     * A class of the Maven 4 API, whose presence means that the properties are provided by
+     * {@link DetectPropertyContributor}.
+     */
+    private static final String MAVEN_4_API_CLASS = "org.apache.maven.api.spi.PropertyContributor";
+
+    private volatile SharedDetection.EarlyDetection earlyDetection;
+
+    @Override
+    public void init(Context context) {
+        final Map<String, Object> data = context.getData();
+        if (isMaven4() || "false".equalsIgnoreCase(getProperty(data, DetectExtension.EARLY_DETECTION_PROPERTY))) {
+            return;
+        }
+        // The detection only depends on the system properties, and the result is only used if the session requires
+        // the same inputs.
+        earlyDetection = SharedDetection.detectEarly(
+                DetectEventSpy::newDetector, !Boolean.parseBoolean(getProperty(data, Detector.LAZY_RELEASE_PROPERTY)));
+    }
+
+    /**
+     * Creates the detector of the early detection, whose log messages are deferred until the result is awaited.
+     */
+    private static Detector newDetector(Consumer<String> log) {
+        return new Detector(new Detector.ScopedSystemPropertyOperations(), new Detector.SimpleFileOperations()) {
+            @Override
+            protected void log(String message) {
+                log.accept(message);
+            }
+
+            @Override
+            protected void logProperty(String name, String value) {}
+        };
+    }
+
+    /**
+     * Returns the detection started by {@link #init(Context)}, or {@code null} if it was not started.
+     */
+    SharedDetection.EarlyDetection getEarlyDetection() {
+        return earlyDetection;
+    }
+
+    /**
+     * Returns the value of a configuration property, looking at the user properties given to the event spies first.
+     */
+    private static String getProperty(Map<String, Object> data, String name) {
+        String value = getProperty(data.get("userProperties"), name);
+        return value != null ? value : getProperty(data.get("systemProperties"), name);
+    }
+
+    private static String getProperty(Object properties, String name) {
+        return properties instanceof Properties ? ((Properties) properties).getProperty(name) : null;
+    }
+
+    /**
+     * Returns whether the Maven 4 API is available.
+     */
+    private static boolean isMaven4() {
+        try {
+            Class.forName(MAVEN_4_API_CLASS, false, DetectEventSpy.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -15,29 +15,25 @@
  */
 package eu.maveniverse.maven.os;
 
-import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import javax.enterprise.inject.Typed;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.MavenExecutionException;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.model.Build;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.DependencyManagement;
-import org.apache.maven.model.Exclusion;
-import org.apache.maven.model.Model;
 import org.apache.maven.model.ModelBase;
-import org.apache.maven.model.Plugin;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.logging.Logger;
-import org.codehaus.plexus.util.InterpolationFilterReader;
 
 /**
  * Detects the current operating system and architecture, normalizes them, and sets them to various project
@@ -68,6 +64,29 @@ import org.codehaus.plexus.util.InterpolationFilterReader;
 @Typed(AbstractMavenLifecycleParticipant.class)
 public class DetectExtension extends AbstractMavenLifecycleParticipant {
 
+    /**
+     * The property enabling the interpolation of the projects in parallel: either {@code true} for one thread per
+     * available processor, or a number of threads.
+     */
+    static final String PARALLEL_PROPERTY = "os.detection.parallel";
+
+    /**
+     * The property disabling the early detection when {@code false}: by default, when the plugin is a core
+     * extension, the detection is started by {@link DetectEventSpy} before the session, and is awaited when the
+     * session starts.
+     */
+    static final String EARLY_DETECTION_PROPERTY = "os.detection.early";
+
+    /**
+     * The models completely interpolated by a previous pass, for each session.
+     */
+    private static final Map<MavenSession, ModelInterpolator.CompletedModels> COMPLETED_MODELS = new WeakHashMap<>();
+
+    /**
+     * The detection result of each session, so that all phases of a session publish the same properties.
+     */
+    private static final Map<MavenSession, Snapshot> SNAPSHOTS = new WeakHashMap<>();
+
     private static boolean disable;
 
     /**
@@ -75,12 +94,18 @@ public class DetectExtension extends AbstractMavenLifecycleParticipant {
      * This allows disabling the interpolation of existing projects, as this Maven 4
      * extension provides the properties early enough so that they are available for
      * interpolation.
+     *
+     * @deprecated this disables the extension for all sessions of the JVM. The Maven 4 extension now disables it
+     *             for its own container only, with {@link PropertyContribution}.
      */
+    @Deprecated
     public static void disable() {
         disable = true;
     }
 
     private final Logger logger;
+    private final PropertyContribution contribution;
+    private final DetectEventSpy eventSpy;
     private final Detector detector;
 
     /**
@@ -88,10 +113,24 @@ public class DetectExtension extends AbstractMavenLifecycleParticipant {
      *
      * @param logger the platform specific logger
      */
-    @Inject
     public DetectExtension(final Logger logger) {
+        this(logger, new PropertyContribution(), new DetectEventSpy());
+    }
+
+    /**
+     * Create a Maven extension instance with the platform specific logger.
+     *
+     * @param logger the platform specific logger
+     * @param contribution whether the Maven 4 extension has provided the properties
+     * @param eventSpy the event spy which may have started the detection before the session
+     */
+    @Inject
+    public DetectExtension(
+            final Logger logger, final PropertyContribution contribution, final DetectEventSpy eventSpy) {
         this.logger = logger;
-        detector = new Detector() {
+        this.contribution = contribution;
+        this.eventSpy = eventSpy;
+        detector = new Detector(new Detector.ScopedSystemPropertyOperations(), new Detector.SimpleFileOperations()) {
             @Override
             protected void log(String message) {
                 logger.info(message);
@@ -108,54 +147,234 @@ public class DetectExtension extends AbstractMavenLifecycleParticipant {
 
     @Override
     public void afterSessionStart(MavenSession session) throws MavenExecutionException {
-        if (!disable) {
+        final Object event = Instrumentation.beginExtensionPhase();
+        if (!isDisabled()) {
             logger.info(
                     "The os-detector Maven 3 extension is registered, OS and CPU architecture properties will be provided.");
         }
-        injectProperties(session);
+        injectProperties(session, !isLazyRelease(session));
+        Instrumentation.endExtensionPhase(event, "afterSessionStart", getProjectCount(session));
     }
 
     @Override
     public void afterProjectsRead(MavenSession session) throws MavenExecutionException {
-        injectProperties(session);
+        final Object event = Instrumentation.beginExtensionPhase();
+        final Map<String, String> dict = injectProperties(
+                session,
+                !isLazyRelease(session)
+                        || ReferenceScanner.isReferenced(session.getProjects(), Detector.DETECTED_RELEASE));
+        if (dict != null && Boolean.parseBoolean(getProperty(session, ClassifierFallback.FALLBACK_PROPERTY))) {
+            applyClassifierFallback(session, dict);
+        }
+        final int prefetchThreads = getThreads(session, NativePrefetch.PREFETCH_PROPERTY);
+        if (dict != null && prefetchThreads > 0) {
+            prefetch(session, dict, prefetchThreads);
+        }
+        Instrumentation.endExtensionPhase(event, "afterProjectsRead", getProjectCount(session));
     }
 
-    private void injectProperties(MavenSession session) throws MavenExecutionException {
-        if (disable) {
-            return;
+    private static int getProjectCount(MavenSession session) {
+        final List<MavenProject> projects = session.getProjects();
+        return projects != null ? projects.size() : 0;
+    }
+
+    private Map<String, String> injectProperties(MavenSession session, boolean detectRelease)
+            throws MavenExecutionException {
+        if (isDisabled()) {
+            return null;
         }
-        final Map<String, String> dict = getProperties(session);
+        final Map<String, String> dict = getProperties(session, detectRelease);
         // Inject the current session.
         injectSession(session, dict);
         // Perform the interpolation for the properties of all dependencies.
-        if (session.getProjects() != null) {
-            for (MavenProject p : session.getProjects()) {
-                interpolate(dict, p);
+        final List<MavenProject> projects = session.getProjects();
+        if (projects != null) {
+            final ModelInterpolator interpolator = new ModelInterpolator(dict, getCompletedModels(session, dict));
+            final int parallelism = getThreads(session, PARALLEL_PROPERTY);
+            if (parallelism > 1 && projects.size() > 1) {
+                interpolate(interpolator, projects, parallelism);
+            } else {
+                for (MavenProject p : projects) {
+                    interpolator.interpolate(p);
+                }
             }
         }
+        return dict;
+    }
+
+    /**
+     * Falls back to less specific classifiers for the dependencies whose artifact with the detected classifier is
+     * not published, remembering the unavailable artifacts in the user's {@code .m2} directory unless offline.
+     */
+    private void applyClassifierFallback(MavenSession session, Map<String, String> dict) {
+        final List<MavenProject> projects = session.getProjects();
+        if (projects == null || ClassifierFallback.getChain(dict).size() < 2) {
+            return;
+        }
+        final String userHome = session.getSystemProperties().getProperty("user.home");
+        final UnavailableArtifacts unavailable = new UnavailableArtifacts(
+                userHome != null ? Path.of(userHome, ".m2", UnavailableArtifacts.DEFAULT_CACHE_FILE) : null,
+                System.currentTimeMillis());
+        try {
+            final ClassifierFallback fallback = new ClassifierFallback(
+                    logger, dict, RepositoryArtifactAvailability.create(session), unavailable);
+            for (MavenProject p : projects) {
+                fallback.apply(p);
+            }
+        } catch (Throwable t) {
+            logger.warn("Failed to fall back to less specific classifiers.", t);
+        } finally {
+            // Offline, the artifacts which are not in the local repository may still be published.
+            if (!session.isOffline()) {
+                unavailable.store();
+            }
+        }
+    }
+
+    /**
+     * Resolves the platform-specific artifacts of the projects concurrently. Failures are only logged, as the
+     * mojos resolve the artifacts again and report them.
+     */
+    private void prefetch(MavenSession session, Map<String, String> dict, int threads) {
+        final List<MavenProject> projects = session.getProjects();
+        if (projects == null) {
+            return;
+        }
+        try {
+            final long start = System.nanoTime();
+            final int count = new NativePrefetch(dict, RepositoryArtifactAvailability.create(session))
+                    .prefetch(projects, threads);
+            logger.info("Prefetched " + count + " platform-specific artifacts in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            logger.warn("Failed to prefetch the platform-specific artifacts.", t);
+        }
+    }
+
+    /**
+     * Returns the models of the session that have been completely interpolated by a previous pass with the same
+     * detected properties.
+     */
+    private static Set<ModelBase> getCompletedModels(MavenSession session, Map<String, String> dict) {
+        final ModelInterpolator.CompletedModels completed;
+        synchronized (COMPLETED_MODELS) {
+            completed = COMPLETED_MODELS.computeIfAbsent(session, s -> new ModelInterpolator.CompletedModels());
+        }
+        return completed.get(dict);
+    }
+
+    /**
+     * Returns the number of threads set by a property: either {@code true} for one thread per available processor,
+     * or a number of threads. Returns {@code 0} if the property is not set or is {@code false}.
+     */
+    private static int getThreads(MavenSession session, String name) {
+        final String value = getProperty(session, name);
+        if (value == null || value.isEmpty() || "false".equalsIgnoreCase(value)) {
+            return 0;
+        }
+        if ("true".equalsIgnoreCase(value)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns whether the Linux release should only be detected when referenced, as set by the
+     * {@value Detector#LAZY_RELEASE_PROPERTY} property.
+     */
+    private static boolean isLazyRelease(MavenSession session) {
+        return Boolean.parseBoolean(getProperty(session, Detector.LAZY_RELEASE_PROPERTY));
     }
 
-    private Map<String, String> getProperties(MavenSession session) throws MavenExecutionException {
+    /**
+     * Returns whether the early detection may be used for the session, as set by the
+     * {@value #EARLY_DETECTION_PROPERTY} property.
+     */
+    private static boolean isEarlyDetection(MavenSession session) {
+        return !"false".equalsIgnoreCase(getProperty(session, EARLY_DETECTION_PROPERTY));
+    }
+
+    /**
+     * Returns whether the extension is disabled, as the Maven 4 extension already provides the properties.
+     */
+    private boolean isDisabled() {
+        return disable || contribution.isContributed();
+    }
+
+    /**
+     * Returns the value of a configuration property, looking at the user properties of the session first.
+     */
+    private static String getProperty(MavenSession session, String name) {
+        final String value = session.getUserProperties().getProperty(name);
+        return value != null ? value : session.getSystemProperties().getProperty(name);
+    }
+
+    /**
+     * Interpolates the projects on a dedicated fork-join pool. Models shared by several projects, such as their
+     * parents, are only interpolated by the first thread reaching them, and the result does not depend on the order
+     * the projects are processed in, as the interpolation of a model is idempotent.
+     */
+    private static void interpolate(ModelInterpolator interpolator, List<MavenProject> projects, int parallelism)
+            throws MavenExecutionException {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> projects.parallelStream().forEach(interpolator::interpolate)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenExecutionException("Interrupted while interpolating the projects", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new MavenExecutionException("Failed to interpolate the projects", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Map<String, String> getProperties(MavenSession session, boolean detectRelease)
+            throws MavenExecutionException {
         // Detect the OS and CPU architecture.
         final Properties sessionProps = new Properties();
         sessionProps.putAll(session.getSystemProperties());
         sessionProps.putAll(session.getUserProperties());
-        try {
-            detector.detect(sessionProps, Collections.emptyList());
-        } catch (DetectionException e) {
-            throw new MavenExecutionException(
-                    e.getMessage(), session.getCurrentProject().getFile());
+        final DetectionResult result;
+        synchronized (SNAPSHOTS) {
+            final Snapshot snapshot = SNAPSHOTS.get(session);
+            if (snapshot != null && (snapshot.release || !detectRelease)) {
+                result = snapshot.result;
+            } else {
+                try {
+                    result = SharedDetection.detect(
+                            detector,
+                            sessionProps,
+                            Collections.emptyList(),
+                            detectRelease,
+                            isEarlyDetection(session) ? eventSpy.getEarlyDetection() : null);
+                } catch (DetectionException e) {
+                    throw new MavenExecutionException(
+                            e.getMessage(), session.getCurrentProject().getFile());
+                }
+                SNAPSHOTS.put(session, new Snapshot(detectRelease, result));
+            }
         }
 
         // Generate the dictionary.
         final Map<String, String> dict = new LinkedHashMap<>();
-        dict.put(Detector.DETECTED_NAME, sessionProps.getProperty(Detector.DETECTED_NAME));
-        dict.put(Detector.DETECTED_ARCH, sessionProps.getProperty(Detector.DETECTED_ARCH));
-        dict.put(Detector.DETECTED_BITNESS, sessionProps.getProperty(Detector.DETECTED_BITNESS));
-        dict.put(Detector.DETECTED_CLASSIFIER, sessionProps.getProperty(Detector.DETECTED_CLASSIFIER));
-        for (Map.Entry<Object, Object> entry : sessionProps.entrySet()) {
-            if (entry.getKey().toString().startsWith(Detector.DETECTED_RELEASE)) {
-                dict.put(entry.getKey().toString(), entry.getValue().toString());
+        dict.put(Detector.DETECTED_NAME, result.getProperty(Detector.DETECTED_NAME));
+        dict.put(Detector.DETECTED_ARCH, result.getProperty(Detector.DETECTED_ARCH));
+        dict.put(Detector.DETECTED_BITNESS, result.getProperty(Detector.DETECTED_BITNESS));
+        dict.put(Detector.DETECTED_CLASSIFIER, result.getProperty(Detector.DETECTED_CLASSIFIER));
+        dict.put(Detector.DETECTED_FINGERPRINT, result.getProperty(Detector.DETECTED_FINGERPRINT));
+        for (Map.Entry<String, String> entry : result.getProperties().entrySet()) {
+            if (entry.getKey().startsWith(Detector.DETECTED_RELEASE) || Detector.isProbeProperty(entry.getKey())) {
+                dict.put(entry.getKey(), entry.getValue());
             }
         }
 
@@ -168,17 +387,17 @@ public class DetectExtension extends AbstractMavenLifecycleParticipant {
         sessionExecProps.setProperty(Detector.DETECTED_ARCH, String.valueOf(dict.get(Detector.DETECTED_ARCH)));
         sessionExecProps.setProperty(
                 Detector.DETECTED_CLASSIFIER, String.valueOf(dict.get(Detector.DETECTED_CLASSIFIER)));
+        sessionExecProps.setProperty(
+                Detector.DETECTED_FINGERPRINT, String.valueOf(dict.get(Detector.DETECTED_FINGERPRINT)));
         for (Map.Entry<String, String> entry : dict.entrySet()) {
-            if (entry.getKey().startsWith(Detector.DETECTED_RELEASE)) {
+            if (entry.getKey().startsWith(Detector.DETECTED_RELEASE) || Detector.isProbeProperty(entry.getKey())) {
                 sessionExecProps.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
             }
         }
 
-        // Work around the 'NoClassDefFoundError' or 'ClassNotFoundException' related with Aether in IntelliJ IDEA.
-        for (StackTraceElement e : new Exception().getStackTrace()) {
-            if (e.getClassName().startsWith("org.jetbrains.idea.maven")) {
-                return;
-            }
+        if (!HostEnvironment.shouldInjectRepositorySession(
+                getProperty(session, HostEnvironment.INJECT_REPOSITORY_SESSION_PROPERTY))) {
+            return;
         }
 
         // Injection of RepositorySession is done in a separate class so that the extension is not impacted by
@@ -186,104 +405,16 @@ public class DetectExtension extends AbstractMavenLifecycleParticipant {
         RepositorySessionInjector.injectRepositorySession(logger, session, dict);
     }
 
-    private static void interpolate(Map<String, String> dict, MavenProject p) {
-        if (p == null) {
-            return;
-        }
-
-        interpolate(dict, p.getParent());
-        interpolate(dict, p.getModel());
-        for (ModelBase model : p.getActiveProfiles()) {
-            interpolate(dict, model);
-        }
-    }
-
-    private static void interpolate(Map<String, String> dict, ModelBase model) {
-        final Properties modelProps = model.getProperties();
-        for (Map.Entry<String, String> e : dict.entrySet()) {
-            modelProps.setProperty(e.getKey(), String.valueOf(e.getValue()));
-        }
-        interpolate(dict, model.getDependencies());
-
-        final DependencyManagement depMgmt = model.getDependencyManagement();
-        if (depMgmt != null) {
-            interpolate(dict, depMgmt.getDependencies());
-        }
-
-        if (model instanceof Model) {
-            final Build build = ((Model) model).getBuild();
-            if (build != null) {
-                for (Plugin bp : build.getPlugins()) {
-                    interpolate(dict, bp.getDependencies());
-                }
-                if (build.getPluginManagement() != null) {
-                    for (Plugin bp : build.getPluginManagement().getPlugins()) {
-                        interpolate(dict, bp.getDependencies());
-                    }
-                }
-            }
-        }
-    }
-
-    private static void interpolate(Map<String, String> dict, Iterable<Dependency> dependencies) {
-        if (dependencies == null) {
-            return;
-        }
-
-        for (Dependency d : dependencies) {
-            d.setGroupId(interpolate(dict, d.getGroupId()));
-            d.setArtifactId(interpolate(dict, d.getArtifactId()));
-            d.setVersion(interpolate(dict, d.getVersion()));
-            d.setClassifier(interpolate(dict, d.getClassifier()));
-            d.setSystemPath(interpolate(dict, d.getSystemPath()));
-            for (Exclusion e : d.getExclusions()) {
-                e.setGroupId(interpolate(dict, e.getGroupId()));
-                e.setArtifactId(interpolate(dict, e.getArtifactId()));
-            }
-        }
-    }
-
-    private static String interpolate(Map<String, String> dict, String value) {
-        if (value == null) {
-            return null;
-        }
-
-        for (; ; ) {
-            if (!value.contains("${")) {
-                // Nothing to interpolate.
-                break;
-            }
-
-            @SuppressWarnings({"unchecked", "rawtypes"})
-            final InterpolationFilterReader reader =
-                    new InterpolationFilterReader(new StringReader(value), (Map<String, Object>) (Map) dict);
-            final StringWriter writer = new StringWriter(value.length());
-            for (; ; ) {
-                final int ch;
-                try {
-                    ch = reader.read();
-                } catch (IOException e) {
-                    // Should not reach here.
-                    throw (Error) new Error(e);
-                }
-
-                if (ch == -1) {
-                    break;
-                }
-                writer.write(ch);
-            }
-
-            final String newValue = writer.toString();
-            if (value.equals(newValue)) {
-                // No interpolatable properties left.
-                break;
-            }
+    /**
+     * The immutable detection result of a session.
+     */
+    private static final class Snapshot {
+        final boolean release;
+        final DetectionResult result;
 
-            // Interpolated at least one variable.
-            // Try again just in case the interpolation introduced another variable.
-            value = newValue;
+        Snapshot(boolean release, DetectionResult result) {
+            this.release = release;
+            this.result = result;
         }
-
-        return value;
     }
 }
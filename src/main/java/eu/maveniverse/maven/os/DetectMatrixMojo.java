@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Detects the properties of several target platforms, for building the artifacts of all of them in a single build,
+ * and sets them to namespaced project properties:
+ * <ul>
+ * <li>{@code os.target.<id>.<property>} - the value of {@code os.detected.<property>} for the platform with the
+ *     given identifier, which defaults to its classifier (e.g. {@code os.target.linux-aarch_64.classifier})</li>
+ * <li>{@code os.targets} - the comma-separated identifiers of the platforms</li>
+ * </ul>
+ * The platforms are detected concurrently, in isolation from the platform running the build: neither the system
+ * properties nor the release files of the build host are used.
+ */
+@Mojo(name = "detect-matrix", defaultPhase = LifecyclePhase.VALIDATE, threadSafe = true)
+public class DetectMatrixMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    private MavenProject project;
+
+    /**
+     * The target platforms, each with its {@code osName}, {@code osArch} and optional {@code id},
+     * {@code osVersion}, {@code bitness}, {@code osRelease} and {@code redhatRelease} snapshot files and
+     * {@code classifierWithLikes}.
+     */
+    @Parameter(required = true)
+    private List<TargetPlatform> platforms;
+
+    /**
+     * Create a mojo instance to detect the properties of target platforms.
+     */
+    public DetectMatrixMojo() {}
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        final Map<String, DetectionResult> results;
+        try {
+            results = MatrixDetection.detect(platforms, Runtime.getRuntime().availableProcessors());
+        } catch (DetectionException e) {
+            throw new MojoExecutionException(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while detecting the target platforms", e);
+        }
+        MatrixDetection.publish(project.getProperties(), results);
+        for (Map.Entry<String, DetectionResult> entry : results.entrySet()) {
+            getLog().info(MatrixDetection.TARGET_PREFIX + entry.getKey() + ": "
+                    + entry.getValue().getProperty(Detector.DETECTED_CLASSIFIER));
+        }
+    }
+}
@@ -16,10 +16,7 @@
 
 package eu.maveniverse.maven.os;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -62,7 +59,8 @@ public class DetectMojo extends AbstractMojo {
     @SuppressWarnings("UnusedDeclaration")
     private String classifierWithLikes;
 
-    private final Detector detector = new Detector() {
+    private final Detector detector = new Detector(
+            new Detector.ScopedSystemPropertyOperations(), new Detector.SimpleFileOperations()) {
         @Override
         protected void log(String message) {
             getLog().info(message);
@@ -84,7 +82,7 @@ public class DetectMojo extends AbstractMojo {
     @Override
     public void execute() throws MojoExecutionException {
         try {
-            detector.detect(project.getProperties(), getClassifierWithLikes(classifierWithLikes));
+            SharedDetection.detect(detector, project.getProperties(), getClassifierWithLikes(classifierWithLikes));
         } catch (DetectionException e) {
             throw new MojoExecutionException(e.getMessage());
         }
@@ -98,12 +96,6 @@ public class DetectMojo extends AbstractMojo {
      * @return the value as a list of entries.
      */
     public static List<String> getClassifierWithLikes(@Nullable String propertyValue) {
-        if (propertyValue == null) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(propertyValue.split(","))
-                .map(String::trim)
-                .filter(part -> !part.isEmpty())
-                .collect(Collectors.toList());
+        return Detector.splitList(propertyValue);
     }
 }
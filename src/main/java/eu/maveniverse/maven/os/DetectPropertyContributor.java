@@ -16,10 +16,6 @@
 
 package eu.maveniverse.maven.os;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
@@ -37,23 +33,27 @@ import org.codehaus.plexus.logging.Logger;
 public class DetectPropertyContributor implements PropertyContributor {
 
     private final Logger logger;
+    private final PropertyContribution contribution;
 
     @Inject
-    DetectPropertyContributor(Logger logger) {
+    DetectPropertyContributor(Logger logger, PropertyContribution contribution) {
         super();
         this.logger = logger;
+        this.contribution = contribution;
     }
 
     @Override
     public void contribute(Map<String, String> map) {
         logger.info(
                 "The os-detector Maven 4 extension is registered, OS and CPU architecture properties will be provided.");
-        DetectExtension.disable();
+        // Tell the Maven 3 extension that the properties are provided early enough to be interpolated by Maven.
+        contribution.markContributed();
 
         final Properties props = new Properties();
         props.putAll(map);
 
-        final Detector detector = new Detector(new SimpleSystemPropertyOperations(map), new SimpleFileOperations()) {
+        final Detector detector = new Detector(
+                new SimpleSystemPropertyOperations(map), new Detector.SimpleFileOperations()) {
             @Override
             protected void log(String message) {
                 logger.debug(message);
@@ -62,7 +62,7 @@ public class DetectPropertyContributor implements PropertyContributor {
             @Override
             protected void logProperty(String name, String value) {}
         };
-        detector.detect(props, Collections.emptyList());
+        SharedDetection.detect(detector, props, Collections.emptyList());
     }
 
     private static class SimpleSystemPropertyOperations implements SystemPropertyOperationProvider {
@@ -84,15 +84,15 @@ public class DetectPropertyContributor implements PropertyContributor {
 
         @Override
         public String setSystemProperty(String name, String value) {
-            map.put(name, value);
-            return System.setProperty(name, value);
-        }
-    }
-
-    private static class SimpleFileOperations implements FileOperationProvider {
-        @Override
-        public InputStream readFile(String fileName) throws IOException {
-            return Files.newInputStream(Path.of(fileName));
+            final String previous = map.put(name, value);
+            String legacy = map.get(Detector.SYSTEM_PROPERTIES_PROPERTY);
+            if (legacy == null) {
+                legacy = getSystemProperty(Detector.SYSTEM_PROPERTIES_PROPERTY);
+            }
+            if (Boolean.parseBoolean(legacy)) {
+                return System.setProperty(name, value);
+            }
+            return previous;
         }
     }
 }
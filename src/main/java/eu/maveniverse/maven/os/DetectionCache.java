@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * A persistent cache of the detected platform properties, stored in a single properties file. The file holds the
+ * properties of the last detection along with the key they were detected for, so that a build on a host whose
+ * platform fingerprint has not changed can load them without reading and parsing the release files.
+ */
+final class DetectionCache {
+    static final String CACHE_PROPERTY = "os.detection.cache";
+    static final String DEFAULT_CACHE_FILE = "os-maven-plugin/detection-cache.properties";
+
+    private static final String KEY_PROPERTY = "cache.key";
+    private static final String FORMAT_VERSION = "1";
+    private static final String[] ORDERED_PROPERTIES = {
+        Detector.DETECTED_NAME,
+        Detector.DETECTED_ARCH,
+        Detector.DETECTED_BITNESS,
+        Detector.DETECTED_VERSION,
+        Detector.DETECTED_VERSION_MAJOR,
+        Detector.DETECTED_VERSION_MINOR,
+        Detector.DETECTED_RELEASE,
+        Detector.DETECTED_RELEASE_VERSION
+    };
+
+    private final Path file;
+
+    DetectionCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the cached properties.
+     *
+     * @param key the key the properties must have been stored with.
+     * @return the cached properties, or {@code null} if there is no cache file or it was stored with another key.
+     */
+    Map<String, String> load(String key) {
+        final Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException ignored) {
+            // Missing or unreadable cache file, just detect again.
+            return null;
+        }
+        if (!key.equals(props.getProperty(KEY_PROPERTY))) {
+            return null;
+        }
+
+        // Restore the order in which the properties are detected, as the properties file does not keep it.
+        final Map<String, String> detected = new LinkedHashMap<>();
+        for (String name : ORDERED_PROPERTIES) {
+            final String value = props.getProperty(name);
+            if (value != null) {
+                detected.put(name, value);
+            }
+        }
+        for (String name : new TreeSet<>(props.stringPropertyNames())) {
+            if (name.startsWith("os.detected.")) {
+                detected.putIfAbsent(name, props.getProperty(name));
+            }
+        }
+        return detected;
+    }
+
+    /**
+     * Stores the properties, replacing the previously cached ones. Failures are ignored, as the cache is only an
+     * optimization.
+     *
+     * @param key the key to store the properties with.
+     * @param detected the detected properties.
+     */
+    void store(String key, Map<String, String> detected) {
+        final Properties props = new Properties();
+        props.putAll(detected);
+        props.setProperty(KEY_PROPERTY, key);
+        try {
+            write(file, props, "os-maven-plugin detection cache");
+        } catch (IOException ignored) {
+            // Just absorb. Failing to write the cache must not fail the detection.
+        }
+    }
+
+    /**
+     * Writes a properties file atomically, replacing the existing one.
+     */
+    static void write(Path file, Properties props, String comment) throws IOException {
+        final Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        // Write to a temporary file first, so that concurrent builds never read a partially written cache.
+        final Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, comment);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Appends the stamps of the given files to the key material.
+     *
+     * @return {@code false} if the files cannot be stamped, see {@link FileOperationProvider#getFileStamp(String)},
+     *         in which case the cache must not be used.
+     */
+    static boolean appendStamps(StringBuilder key, FileOperationProvider fileOperationProvider, List<String> files) {
+        try {
+            for (String fileName : files) {
+                final String stamp = fileOperationProvider.getFileStamp(fileName);
+                if (stamp == null) {
+                    return false;
+                }
+                key.append(fileName).append('=').append(stamp).append('\n');
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the given key material, to be used as a cache key.
+     */
+    static String fingerprint(String material) {
+        return sha256(FORMAT_VERSION + material);
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given text, as lowercase hexadecimal digits.
+     */
+    static String sha256(String text) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Should not reach here, every JVM supports SHA-256.
+            throw new IllegalStateException(e);
+        }
+        final byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The immutable result of a detection: the detected {@code os.detected.*} properties, in the order they were
+ * detected.
+ */
+public final class DetectionResult {
+    private final Map<String, String> properties;
+
+    DetectionResult(Map<String, String> properties) {
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+    }
+
+    /**
+     * Gets the detected properties.
+     *
+     * @return an unmodifiable map of the detected properties.
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Gets a detected property.
+     *
+     * @param name the name of the property, e.g. {@link Detector#DETECTED_CLASSIFIER}.
+     * @return the value of the property, or {@code null} if it was not detected.
+     */
+    public String getProperty(String name) {
+        return properties.get(name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DetectionResult && properties.equals(((DetectionResult) o).properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return properties.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return properties.toString();
+    }
+}
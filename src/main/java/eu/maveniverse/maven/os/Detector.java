@@ -23,16 +23,22 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public abstract class Detector {
 
@@ -46,16 +52,82 @@ public abstract class Detector {
     public static final String DETECTED_RELEASE = "os.detected.release";
     public static final String DETECTED_RELEASE_VERSION = DETECTED_RELEASE + ".version";
     public static final String DETECTED_RELEASE_LIKE_PREFIX = DETECTED_RELEASE + ".like.";
+    public static final String DETECTED_FINGERPRINT = "os.detected.fingerprint";
 
-    private static final String UNKNOWN = "unknown";
-    private static final String LINUX_ID_PREFIX = "ID=";
-    private static final String LINUX_ID_LIKE_PREFIX = "ID_LIKE=";
-    private static final String LINUX_VERSION_ID_PREFIX = "VERSION_ID=";
+    /**
+     * The system property holding the path of a properties file with additional {@code os.name} and
+     * {@code os.arch} aliases, see {@link Normalizer}.
+     */
+    public static final String ALIASES_PROPERTY = "os.detection.aliases";
+
+    /**
+     * The system property selecting the additional keys of the {@code os-release} file to publish as
+     * {@code os.detected.release.<lowercase key>} properties, e.g. {@code os.detected.release.version_codename}: either
+     * a comma-separated list of keys, or {@code true} for all keys.
+     */
+    public static final String RELEASE_KEYS_PROPERTY = "os.detection.releaseKeys";
+
+    /**
+     * The system property enabling the legacy publication of the detected properties as system properties of the
+     * JVM, in addition to the properties of the project or session, when set to {@code true}. It is only honored by
+     * the entry points using {@link ScopedSystemPropertyOperations}.
+     */
+    public static final String SYSTEM_PROPERTIES_PROPERTY = "os.detection.systemProperties";
+
+    /**
+     * The system property selecting the detected properties making up {@value #DETECTED_FINGERPRINT}: a
+     * comma-separated list of property names, or of prefixes ending with {@code *}.
+     */
+    public static final String FINGERPRINT_PROPERTY = "os.detection.fingerprint";
+
+    /**
+     * The property enabling the lazy detection of the Linux release: when {@code true}, the release files are only
+     * read if a project references one of the {@code os.detected.release} properties, and the release properties are
+     * left out of the default selection of {@value #FINGERPRINT_PROPERTY} so that the fingerprint does not depend on
+     * whether the release was detected.
+     */
+    static final String LAZY_RELEASE_PROPERTY = "os.detection.lazyRelease";
+
+    /**
+     * The properties making up {@value #DETECTED_FINGERPRINT} by default, when they are detected: the properties
+     * which tell apart the hosts whose native build outputs may differ.
+     */
+    private static final List<String> DEFAULT_FINGERPRINT_PROPERTIES = List.of(
+            DETECTED_CLASSIFIER,
+            CpuFeatureProbe.DETECTED_ARCH_LEVEL,
+            LibcProbe.DETECTED_LIBC,
+            LibcProbe.DETECTED_LIBC_VERSION,
+            DETECTED_RELEASE,
+            DETECTED_RELEASE_VERSION);
+
+    private static final String UNKNOWN = Normalizer.UNKNOWN;
+    private static final String[] INPUT_PROPERTIES = {
+        "os.name",
+        "os.arch",
+        "os.version",
+        "sun.arch.data.model",
+        "com.ibm.vm.bitmode",
+        "failOnUnknownOS",
+        ALIASES_PROPERTY,
+        RELEASE_KEYS_PROPERTY,
+        FINGERPRINT_PROPERTY,
+        LAZY_RELEASE_PROPERTY,
+        DetectionCache.CACHE_PROPERTY,
+        CpuFeatureProbe.CLASSIFIER_LEVEL_PROPERTY
+    };
+    /**
+     * The probes of the optional groups of properties, each enabled by its {@code os.detection.<group>} property.
+     */
+    private static final List<PlatformProbe> PROBES =
+            List.of(new ResourceProbe(), new CpuFeatureProbe(), new LibcProbe(), new KernelProbe());
+
+    private static final String LINUX_ID = "ID";
+    private static final String LINUX_ID_LIKE = "ID_LIKE";
+    private static final String LINUX_VERSION_ID = "VERSION_ID";
     private static final String[] LINUX_OS_RELEASE_FILES = {"/etc/os-release", "/usr/lib/os-release"};
     private static final String REDHAT_RELEASE_FILE = "/etc/redhat-release";
     private static final String[] DEFAULT_REDHAT_VARIANTS = {"rhel", "fedora"};
 
-    private static final Pattern VERSION_REGEX = Pattern.compile("((\\d+)\\.(\\d+)).*");
     private static final Pattern REDHAT_MAJOR_VERSION_REGEX = Pattern.compile("(\\d+)");
 
     private final SystemPropertyOperationProvider systemPropertyOperationProvider;
@@ -73,29 +145,58 @@ public abstract class Detector {
     }
 
     protected void detect(Properties props, List<String> classifierWithLikes) {
+        publish(props, detect(classifierWithLikes), true);
+    }
+
+    /**
+     * Detects the operating system and CPU architecture without publishing the detected properties.
+     *
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier.
+     * @return the detection result.
+     * @throws DetectionException if the operating system or CPU architecture is unknown and
+     *         {@code failOnUnknownOS} is not set to {@code false}.
+     */
+    protected DetectionResult detect(List<String> classifierWithLikes) {
+        return detect(classifierWithLikes, true);
+    }
+
+    /**
+     * Detects the operating system and CPU architecture without publishing the detected properties, optionally
+     * skipping the detection of the Linux release, which reads and parses the release files.
+     *
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier, which are ignored if
+     *        the release is not detected.
+     * @param detectRelease whether to detect the {@code os.detected.release*} properties.
+     * @return the detection result.
+     * @throws DetectionException if the operating system or CPU architecture is unknown and
+     *         {@code failOnUnknownOS} is not set to {@code false}.
+     */
+    protected DetectionResult detect(List<String> classifierWithLikes, boolean detectRelease) {
         log("------------------------------------------------------------------------");
         log("Detecting the operating system and CPU architecture");
         log("------------------------------------------------------------------------");
 
+        Object event = Instrumentation.begin();
         final String osName = systemPropertyOperationProvider.getSystemProperty("os.name");
         final String osArch = systemPropertyOperationProvider.getSystemProperty("os.arch");
-        final String osVersion = systemPropertyOperationProvider.getSystemProperty("os.version");
-
-        final String detectedName = normalizeOs(osName);
-        final String detectedArch = normalizeArch(osArch);
-        final int detectedBitness = determineBitness(detectedArch);
-
-        setProperty(props, DETECTED_NAME, detectedName);
-        setProperty(props, DETECTED_ARCH, detectedArch);
-        setProperty(props, DETECTED_BITNESS, "" + detectedBitness);
-
-        final Matcher versionMatcher = VERSION_REGEX.matcher(osVersion);
-        if (versionMatcher.matches()) {
-            setProperty(props, DETECTED_VERSION, versionMatcher.group(1));
-            setProperty(props, DETECTED_VERSION_MAJOR, versionMatcher.group(2));
-            setProperty(props, DETECTED_VERSION_MINOR, versionMatcher.group(3));
+        Instrumentation.endDetectorPhase(event, "properties");
+
+        // Either load the platform properties from the persistent cache, or detect them and cache them.
+        event = Instrumentation.begin();
+        final DetectionCache cache = getCache();
+        final String cacheKey = cache != null ? getCacheKey(osName, osArch, detectRelease) : null;
+        Map<String, String> detected = cacheKey != null ? cache.load(cacheKey) : null;
+        Instrumentation.endDetectorPhase(event, "cache");
+        if (detected == null) {
+            detected = detectPlatform(osName, osArch, detectRelease);
+            if (cacheKey != null) {
+                cache.store(cacheKey, detected);
+            }
         }
 
+        final String detectedName = detected.get(DETECTED_NAME);
+        final String detectedArch = detected.get(DETECTED_ARCH);
+
         final String failOnUnknownOS = systemPropertyOperationProvider.getSystemProperty("failOnUnknownOS");
         if (!"false".equalsIgnoreCase(failOnUnknownOS)) {
             if (UNKNOWN.equals(detectedName)) {
@@ -106,168 +207,326 @@ public abstract class Detector {
             }
         }
 
+        return complete(detected, classifierWithLikes);
+    }
+
+    /**
+     * Detects the optional groups of properties of a previous result again, as they may change at any time, e.g.
+     * the resource limits of a container, and updates the classifier and fingerprint which depend on them.
+     *
+     * @param result the previous result.
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier.
+     * @return the updated result, or the previous result itself if no group of properties is enabled.
+     */
+    DetectionResult refreshProbes(DetectionResult result, List<String> classifierWithLikes) {
+        if (PROBES.stream().noneMatch(probe -> probe.isEnabled(systemPropertyOperationProvider))) {
+            return result;
+        }
+        final Map<String, String> detected = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : result.getProperties().entrySet()) {
+            final String name = entry.getKey();
+            if (!isProbeProperty(name) && !DETECTED_CLASSIFIER.equals(name) && !DETECTED_FINGERPRINT.equals(name)) {
+                detected.put(name, entry.getValue());
+            }
+        }
+        return complete(detected, classifierWithLikes);
+    }
+
+    /**
+     * Completes the platform properties with the optional groups of properties, the classifier and the fingerprint.
+     */
+    private DetectionResult complete(Map<String, String> detected, List<String> classifierWithLikes) {
+        final String detectedName = detected.get(DETECTED_NAME);
+        final String detectedArch = detected.get(DETECTED_ARCH);
+
+        // Detect the optional groups of properties, which are not cached as they may change at any time.
+        final Map<String, String> result = new LinkedHashMap<>(detected);
+        for (PlatformProbe probe : PROBES) {
+            if (probe.isEnabled(systemPropertyOperationProvider)) {
+                final Object event = Instrumentation.begin();
+                probe.detect(fileOperationProvider, result);
+                Instrumentation.endDetectorPhase(event, probe.getGroupProperty());
+            }
+        }
+
         // Assume the default classifier, without any os "like" extension.
         final StringBuilder detectedClassifierBuilder = new StringBuilder();
         detectedClassifierBuilder.append(detectedName);
         detectedClassifierBuilder.append('-');
         detectedClassifierBuilder.append(detectedArch);
 
+        // Append the microarchitecture level if requested and detected.
+        final String level = result.get(CpuFeatureProbe.DETECTED_ARCH_LEVEL);
+        if (level != null
+                && Boolean.parseBoolean(
+                        systemPropertyOperationProvider.getSystemProperty(CpuFeatureProbe.CLASSIFIER_LEVEL_PROPERTY))) {
+            detectedClassifierBuilder.append('-');
+            detectedClassifierBuilder.append(level);
+        }
+
+        // If any of the requested classifier likes are found in the "likes" for this system,
+        // append it to the classifier.
+        for (String classifierLike : classifierWithLikes) {
+            if (detected.containsKey(DETECTED_RELEASE_LIKE_PREFIX + classifierLike)) {
+                detectedClassifierBuilder.append('-');
+                detectedClassifierBuilder.append(classifierLike);
+                // First one wins.
+                break;
+            }
+        }
+
+        result.put(DETECTED_CLASSIFIER, detectedClassifierBuilder.toString());
+        result.put(DETECTED_FINGERPRINT, fingerprint(result, getFingerprintProperties()));
+        return new DetectionResult(result);
+    }
+
+    /**
+     * Sets the detected properties to the given properties and to the system properties.
+     *
+     * @param props the properties to set the detected properties to.
+     * @param result the detection result.
+     * @param report whether to log each property, which is only done once for a shared result.
+     */
+    protected void publish(Properties props, DetectionResult result, boolean report) {
+        for (Map.Entry<String, String> e : result.getProperties().entrySet()) {
+            props.setProperty(e.getKey(), e.getValue());
+            systemPropertyOperationProvider.setSystemProperty(e.getKey(), e.getValue());
+            if (report) {
+                logProperty(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns a key identifying the inputs of {@link #detect(List, boolean)}: the system properties it reads, the
+     * requested "likes" and whether the release is detected. Two detections with the same key produce the same
+     * result, as long as the files they read do not change.
+     */
+    String getInputKey(List<String> classifierWithLikes, boolean detectRelease) {
+        final StringBuilder key = new StringBuilder();
+        for (String name : INPUT_PROPERTIES) {
+            key.append(name)
+                    .append('=')
+                    .append(systemPropertyOperationProvider.getSystemProperty(name))
+                    .append('\n');
+        }
+        for (PlatformProbe probe : PROBES) {
+            key.append(probe.getGroupProperty())
+                    .append('=')
+                    .append(systemPropertyOperationProvider.getSystemProperty(probe.getGroupProperty()))
+                    .append('\n');
+        }
+        return key.append(classifierWithLikes).append(detectRelease).toString();
+    }
+
+    /**
+     * Detects the platform properties, that is all properties except the classifier, which also depends on the
+     * requested "likes". The returned properties only depend on the system properties and release files that
+     * make up the cache key, see {@link #getCacheKey(String, String, boolean)}.
+     */
+    private Map<String, String> detectPlatform(String osName, String osArch, boolean detectRelease) {
+        Object event = Instrumentation.begin();
+        final Map<String, String> detected = new LinkedHashMap<>();
+        final String osVersion = systemPropertyOperationProvider.getSystemProperty("os.version");
+
+        final Normalizer normalizer = getNormalizer();
+        final String detectedName = normalizer.normalizeOs(osName);
+        final String detectedArch = normalizer.normalizeArch(osArch);
+        final int detectedBitness = determineBitness(detectedArch);
+
+        detected.put(DETECTED_NAME, detectedName);
+        detected.put(DETECTED_ARCH, detectedArch);
+        detected.put(DETECTED_BITNESS, "" + detectedBitness);
+
+        final String detectedVersion = normalizer.normalizeVersion(osVersion);
+        if (detectedVersion != null) {
+            final int dot = detectedVersion.indexOf('.');
+            detected.put(DETECTED_VERSION, detectedVersion);
+            detected.put(DETECTED_VERSION_MAJOR, detectedVersion.substring(0, dot));
+            detected.put(DETECTED_VERSION_MINOR, detectedVersion.substring(dot + 1));
+        }
+        Instrumentation.endDetectorPhase(event, "normalization");
+
         // For Linux systems, add additional properties regarding details of the OS.
-        final LinuxRelease linuxRelease = "linux".equals(detectedName) ? getLinuxRelease() : null;
+        event = Instrumentation.begin();
+        final LinuxRelease linuxRelease = detectRelease && "linux".equals(detectedName) ? getLinuxRelease() : null;
+        Instrumentation.endDetectorPhase(event, "release");
         if (linuxRelease != null) {
-            setProperty(props, DETECTED_RELEASE, linuxRelease.id);
+            detected.put(DETECTED_RELEASE, linuxRelease.id);
             if (linuxRelease.version != null) {
-                setProperty(props, DETECTED_RELEASE_VERSION, linuxRelease.version);
+                detected.put(DETECTED_RELEASE_VERSION, linuxRelease.version);
             }
 
             // Add properties for all systems that this OS is "like".
             for (String like : linuxRelease.like) {
-                final String propKey = DETECTED_RELEASE_LIKE_PREFIX + like;
-                setProperty(props, propKey, "true");
+                detected.put(DETECTED_RELEASE_LIKE_PREFIX + like, "true");
             }
 
-            // If any of the requested classifier likes are found in the "likes" for this system,
-            // append it to the classifier.
-            for (String classifierLike : classifierWithLikes) {
-                if (linuxRelease.like.contains(classifierLike)) {
-                    detectedClassifierBuilder.append('-');
-                    detectedClassifierBuilder.append(classifierLike);
-                    // First one wins.
-                    break;
-                }
-            }
+            // Add the other requested entries of the release file.
+            detected.putAll(linuxRelease.properties);
         }
-        setProperty(props, DETECTED_CLASSIFIER, detectedClassifierBuilder.toString());
+        return detected;
     }
 
-    private void setProperty(Properties props, String name, String value) {
-        props.setProperty(name, value);
-        systemPropertyOperationProvider.setSystemProperty(name, value);
-        logProperty(name, value);
+    /**
+     * Returns the persistent detection cache, or {@code null} if caching has not been enabled with the
+     * {@value DetectionCache#CACHE_PROPERTY} system property. The value of the property is either {@code true},
+     * to use the default cache file in the user's {@code .m2} directory, or the path of the cache file.
+     */
+    private DetectionCache getCache() {
+        final String value = systemPropertyOperationProvider.getSystemProperty(DetectionCache.CACHE_PROPERTY);
+        if (value == null || value.isEmpty() || "false".equalsIgnoreCase(value)) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(value)) {
+            final String userHome = systemPropertyOperationProvider.getSystemProperty("user.home");
+            if (userHome == null) {
+                return null;
+            }
+            return new DetectionCache(Path.of(userHome, ".m2", DetectionCache.DEFAULT_CACHE_FILE));
+        }
+        return new DetectionCache(Path.of(value));
     }
 
-    protected abstract void log(String message);
+    /**
+     * Computes the key of the persistent cache: a fingerprint of all system properties used for detecting the
+     * platform, and of the size, modification time and inode of the release files. Returns {@code null} if the
+     * release files cannot be fingerprinted, in which case the cache is not used.
+     */
+    private String getCacheKey(String osName, String osArch, boolean detectRelease) {
+        final StringBuilder key = new StringBuilder();
+        key.append("release=").append(detectRelease).append('\n');
+        key.append("os.name=").append(osName).append('\n');
+        key.append("os.arch=").append(osArch).append('\n');
+        for (String name : new String[] {
+            "os.version", "sun.arch.data.model", "com.ibm.vm.bitmode", ALIASES_PROPERTY, RELEASE_KEYS_PROPERTY
+        }) {
+            key.append(name)
+                    .append('=')
+                    .append(systemPropertyOperationProvider.getSystemProperty(name))
+                    .append('\n');
+        }
+        if (!DetectionCache.appendStamps(key, fileOperationProvider, getInputFiles())) {
+            return null;
+        }
+        return DetectionCache.fingerprint(key.toString());
+    }
 
-    protected abstract void logProperty(String name, String value);
+    /**
+     * Returns the selection of the properties making up the fingerprint, see {@value #FINGERPRINT_PROPERTY}.
+     */
+    private List<String> getFingerprintProperties() {
+        final List<String> selection =
+                splitList(systemPropertyOperationProvider.getSystemProperty(FINGERPRINT_PROPERTY));
+        if (!selection.isEmpty()) {
+            return selection;
+        }
+        if (Boolean.parseBoolean(systemPropertyOperationProvider.getSystemProperty(LAZY_RELEASE_PROPERTY))) {
+            return DEFAULT_FINGERPRINT_PROPERTIES.stream()
+                    .filter(name -> !DETECTED_RELEASE.equals(name) && !DETECTED_RELEASE_VERSION.equals(name))
+                    .collect(Collectors.toList());
+        }
+        return DEFAULT_FINGERPRINT_PROPERTIES;
+    }
 
-    private static String normalizeOs(String value) {
-        value = normalize(value);
-        if (value.startsWith("aix")) {
-            return "aix";
-        }
-        if (value.startsWith("hpux")) {
-            return "hpux";
-        }
-        if (value.startsWith("os400")) {
-            // Avoid the names such as os4000
-            if (value.length() <= 5 || !Character.isDigit(value.charAt(5))) {
-                return "os400";
+    /**
+     * Computes a stable fingerprint of the selected detected properties: the SHA-256 hash of their sorted
+     * {@code name=value} lines, which only depends on the selected properties which are detected, and not on the
+     * order of the selection.
+     *
+     * @param detected the detected properties.
+     * @param selection the names of the properties, or their prefixes ending with {@code *}.
+     */
+    static String fingerprint(Map<String, String> detected, List<String> selection) {
+        final Map<String, String> selected = new TreeMap<>();
+        for (Map.Entry<String, String> e : detected.entrySet()) {
+            for (String name : selection) {
+                if (name.endsWith("*")
+                        ? e.getKey().startsWith(name.substring(0, name.length() - 1))
+                        : e.getKey().equals(name)) {
+                    selected.put(e.getKey(), e.getValue());
+                    break;
+                }
             }
         }
-        if (value.startsWith("linux")) {
-            return "linux";
-        }
-        if (value.startsWith("mac") || value.startsWith("osx")) {
-            return "osx";
-        }
-        if (value.startsWith("freebsd")) {
-            return "freebsd";
-        }
-        if (value.startsWith("openbsd")) {
-            return "openbsd";
-        }
-        if (value.startsWith("netbsd")) {
-            return "netbsd";
-        }
-        if (value.startsWith("solaris") || value.startsWith("sunos")) {
-            return "sunos";
-        }
-        if (value.startsWith("windows")) {
-            return "windows";
-        }
-        if (value.startsWith("zos")) {
-            return "zos";
+        final StringBuilder material = new StringBuilder();
+        for (Map.Entry<String, String> e : selected.entrySet()) {
+            material.append(e.getKey()).append('=').append(e.getValue()).append('\n');
         }
+        return DetectionCache.sha256(material.toString());
+    }
 
-        return UNKNOWN;
+    /**
+     * Returns the files read by {@link #detect(List, boolean)}, other than those of the probes: the release files and
+     * the aliases file, if any. Detecting again with the same inputs, see {@link #getInputKey(List, boolean)}, only
+     * produces a different result when one of these files changes.
+     */
+    List<String> getInputFiles() {
+        final List<String> files = new ArrayList<>(LINUX_OS_RELEASE_FILES.length + 2);
+        Collections.addAll(files, LINUX_OS_RELEASE_FILES);
+        files.add(REDHAT_RELEASE_FILE);
+        final String aliasesFile = systemPropertyOperationProvider.getSystemProperty(ALIASES_PROPERTY);
+        if (aliasesFile != null && !aliasesFile.isEmpty()) {
+            files.add(aliasesFile);
+        }
+        return files;
     }
 
-    private static String normalizeArch(String value) {
-        value = normalize(value);
-        if (value.matches("^(x8664|amd64|ia32e|em64t|x64)$")) {
-            return "x86_64";
-        }
-        if (value.matches("^(x8632|x86|i[3-6]86|ia32|x32)$")) {
-            return "x86_32";
-        }
-        if (value.matches("^(ia64w?|itanium64)$")) {
-            return "itanium_64";
-        }
-        if ("ia64n".equals(value)) {
-            return "itanium_32";
-        }
-        if (value.matches("^(sparc|sparc32)$")) {
-            return "sparc_32";
-        }
-        if (value.matches("^(sparcv9|sparc64)$")) {
-            return "sparc_64";
-        }
-        if (value.matches("^(arm|arm32)$")) {
-            return "arm_32";
-        }
-        if ("aarch64".equals(value)) {
-            return "aarch_64";
-        }
-        if (value.matches("^(mips|mips32)$")) {
-            return "mips_32";
-        }
-        if (value.matches("^(mipsel|mips32el)$")) {
-            return "mipsel_32";
-        }
-        if ("mips64".equals(value)) {
-            return "mips_64";
-        }
-        if ("mips64el".equals(value)) {
-            return "mipsel_64";
-        }
-        if (value.matches("^(ppc|ppc32)$")) {
-            return "ppc_32";
-        }
-        if (value.matches("^(ppcle|ppc32le)$")) {
-            return "ppcle_32";
-        }
-        if ("ppc64".equals(value)) {
-            return "ppc_64";
-        }
-        if ("ppc64le".equals(value)) {
-            return "ppcle_64";
-        }
-        if ("s390".equals(value)) {
-            return "s390_32";
-        }
-        if ("s390x".equals(value)) {
-            return "s390_64";
-        }
-        if (value.matches("^(riscv|riscv32)$")) {
-            return "riscv";
-        }
-        if ("riscv64".equals(value)) {
-            return "riscv64";
-        }
-        if ("e2k".equals(value)) {
-            return "e2k";
-        }
-        if ("loongarch64".equals(value)) {
-            return "loongarch_64";
-        }
-        return UNKNOWN;
+    /**
+     * Returns the stamps of the files read by the detection, see {@link #getInputFiles()}, or {@code null} if they
+     * can not be stamped.
+     */
+    String getInputStamps() {
+        final StringBuilder stamps = new StringBuilder();
+        return DetectionCache.appendStamps(stamps, fileOperationProvider, getInputFiles()) ? stamps.toString() : null;
     }
 
-    private static String normalize(String value) {
-        if (value == null) {
-            return "";
+    /**
+     * Returns whether the property with the given name belongs to one of the optional groups of properties.
+     */
+    static boolean isProbeProperty(String name) {
+        for (PlatformProbe probe : PROBES) {
+            if (probe.isDetected(name)) {
+                return true;
+            }
         }
-        return value.toLowerCase(Locale.US).replaceAll("[^a-z0-9]+", "");
+        return false;
+    }
+
+    /**
+     * Takes a comma-separated value, such as the os "likes" to be included in the generated classifier, and returns
+     * its trimmed non-empty entries as a list, see {@link DetectMojo#getClassifierWithLikes(String)}.
+     */
+    static List<String> splitList(String propertyValue) {
+        if (propertyValue == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(propertyValue.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    protected abstract void log(String message);
+
+    protected abstract void logProperty(String name, String value);
+
+    /**
+     * Returns the normalizer to use, with the additional aliases from the file given by the
+     * {@value #ALIASES_PROPERTY} system property, if any.
+     */
+    private Normalizer getNormalizer() {
+        final String aliasesFile = systemPropertyOperationProvider.getSystemProperty(ALIASES_PROPERTY);
+        if (aliasesFile == null || aliasesFile.isEmpty()) {
+            return Normalizer.getDefault();
+        }
+        final Properties aliases = new Properties();
+        try (InputStream in = fileOperationProvider.readFile(aliasesFile)) {
+            aliases.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new DetectionException("failed to read " + ALIASES_PROPERTY + ": " + aliasesFile, e);
+        }
+        return Normalizer.withAliases(aliases);
     }
 
     private LinuxRelease getLinuxRelease() {
@@ -286,55 +545,74 @@ public abstract class Detector {
 
     /**
      * Parses a file in the format of {@code /etc/os-release} and return a {@link LinuxRelease}
-     * based on the {@code ID}, {@code ID_LIKE}, and {@code VERSION_ID} entries.
+     * based on the {@code ID}, {@code ID_LIKE}, and {@code VERSION_ID} entries, and on the other entries requested by
+     * the {@value #RELEASE_KEYS_PROPERTY} system property.
      */
-    private LinuxRelease parseLinuxOsReleaseFile(String fileName) {
-        BufferedReader reader = null;
-        try {
-            InputStream in = fileOperationProvider.readFile(fileName);
-            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-
-            String id = null;
-            String version = null;
-            final Set<String> likeSet = new LinkedHashSet<String>();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Parse the ID line.
-                if (line.startsWith(LINUX_ID_PREFIX)) {
-                    // Set the ID for this version.
-                    id = normalizeOsReleaseValue(line.substring(LINUX_ID_PREFIX.length()));
-
-                    // Also add the ID to the "like" set.
-                    likeSet.add(id);
-                    continue;
-                }
-
-                // Parse the VERSION_ID line.
-                if (line.startsWith(LINUX_VERSION_ID_PREFIX)) {
-                    // Set the ID for this version.
-                    version = normalizeOsReleaseValue(line.substring(LINUX_VERSION_ID_PREFIX.length()));
-                    continue;
+    LinuxRelease parseLinuxOsReleaseFile(String fileName) {
+        final List<String> keys = getReleaseKeys();
+        final Map<String, String> values;
+        try (InputStream in = fileOperationProvider.readFile(fileName)) {
+            values = new OsReleaseParser(keys).parse(in);
+        } catch (IOException ignored) {
+            // Just absorb. Don't treat failure to read /etc/os-release as an error.
+            return null;
+        }
+
+        final String id = values.remove(LINUX_ID);
+        if (id == null) {
+            return null;
+        }
+        final String version = values.remove(LINUX_VERSION_ID);
+
+        // The ID is also added to the "like" set.
+        final Set<String> likeSet = new LinkedHashSet<String>();
+        likeSet.add(id);
+        final String idLike = values.remove(LINUX_ID_LIKE);
+        if (idLike != null) {
+            // Split the value on any whitespace.
+            int start = -1;
+            for (int i = 0; i <= idLike.length(); i++) {
+                if (i == idLike.length() || Character.isWhitespace(idLike.charAt(i))) {
+                    if (start >= 0) {
+                        likeSet.add(idLike.substring(start, i));
+                        start = -1;
+                    }
+                } else if (start < 0) {
+                    start = i;
                 }
+            }
+        }
 
-                // Parse the ID_LIKE line.
-                if (line.startsWith(LINUX_ID_LIKE_PREFIX)) {
-                    line = normalizeOsReleaseValue(line.substring(LINUX_ID_LIKE_PREFIX.length()));
-
-                    // Split the line on any whitespace.
-                    final String[] parts = line.split("\\s+");
-                    Collections.addAll(likeSet, parts);
-                }
+        // The other requested entries, named after their lowercase key.
+        final Map<String, String> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            final String name = DETECTED_RELEASE + '.' + e.getKey().toLowerCase(Locale.ROOT);
+            if (!DETECTED_RELEASE_VERSION.equals(name)) {
+                properties.put(name, e.getValue());
             }
+        }
+        return new LinuxRelease(id, version, likeSet, properties);
+    }
 
-            if (id != null) {
-                return new LinuxRelease(id, version, likeSet);
+    /**
+     * Returns the keys of the {@code os-release} file to parse, or {@code null} to parse all keys, according to the
+     * {@value #RELEASE_KEYS_PROPERTY} system property.
+     */
+    private List<String> getReleaseKeys() {
+        final String value = systemPropertyOperationProvider.getSystemProperty(RELEASE_KEYS_PROPERTY);
+        if (value != null && ("true".equalsIgnoreCase(value.trim()) || "*".equals(value.trim()))) {
+            return null;
+        }
+        final List<String> keys = new ArrayList<>(List.of(LINUX_ID, LINUX_ID_LIKE, LINUX_VERSION_ID));
+        if (value != null && !"false".equalsIgnoreCase(value.trim())) {
+            for (String key : splitList(value)) {
+                final String upper = key.toUpperCase(Locale.ROOT);
+                if (!keys.contains(upper)) {
+                    keys.add(upper);
+                }
             }
-        } catch (IOException ignored) {
-            // Just absorb. Don't treat failure to read /etc/os-release as an error.
-        } finally {
-            closeQuietly(reader);
         }
-        return null;
+        return keys;
     }
 
     /**
@@ -384,11 +662,6 @@ public abstract class Detector {
         return null;
     }
 
-    private static String normalizeOsReleaseValue(String value) {
-        // Remove any quotes from the string.
-        return value.trim().replace("\"", "");
-    }
-
     private int determineBitness(String architecture) {
         // try the widely adopted sun specification first.
         String bitness = systemPropertyOperationProvider.getSystemProperty("sun.arch.data.model");
@@ -426,15 +699,21 @@ public abstract class Detector {
         }
     }
 
-    private static class LinuxRelease {
+    static class LinuxRelease {
         final String id;
         final String version;
         final Collection<String> like;
+        final Map<String, String> properties;
 
         LinuxRelease(String id, String version, Set<String> like) {
+            this(id, version, like, Collections.emptyMap());
+        }
+
+        LinuxRelease(String id, String version, Set<String> like, Map<String, String> properties) {
             this.id = id;
             this.version = version;
             this.like = Collections.unmodifiableCollection(like);
+            this.properties = Collections.unmodifiableMap(properties);
         }
     }
 
@@ -455,10 +734,37 @@ public abstract class Detector {
         }
     }
 
+    /**
+     * Reads the system properties, but only sets them if the legacy publication is enabled with the
+     * {@value #SYSTEM_PROPERTIES_PROPERTY} system property. Otherwise, the detected properties are only published
+     * to the properties of the project or session, so that concurrent builds neither contend on the system
+     * properties nor leak their values into each other.
+     */
+    static class ScopedSystemPropertyOperations extends SimpleSystemPropertyOperations {
+        @Override
+        public String setSystemProperty(String name, String value) {
+            if (Boolean.parseBoolean(getSystemProperty(SYSTEM_PROPERTIES_PROPERTY))) {
+                return super.setSystemProperty(name, value);
+            }
+            return getSystemProperty(name);
+        }
+    }
+
     static class SimpleFileOperations implements FileOperationProvider {
         @Override
         public InputStream readFile(String fileName) throws IOException {
             return Files.newInputStream(Path.of(fileName));
         }
+
+        @Override
+        public String getFileStamp(String fileName) throws IOException {
+            final Path path = Path.of(fileName);
+            if (!Files.exists(path)) {
+                return "";
+            }
+            final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            // The file key contains the device and inode on Unix systems.
+            return attrs.size() + ":" + attrs.lastModifiedTime().toMillis() + ":" + attrs.fileKey();
+        }
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Watches the files read by the detection, so that the results shared by a long-lived JVM, such as a Maven daemon
+ * or embedder, are only discarded when one of these files changes.
+ * <p>
+ * The parent directories of the files are watched rather than the files themselves, so that files which are
+ * created, deleted or replaced, e.g. by a package upgrade renaming a new {@code /usr/lib/os-release} over the old
+ * one, are noticed as well. Changes are polled without blocking, and instances are thread-safe.
+ * <p>
+ * If the files can not be watched, e.g. because the limit of inotify instances is reached or the file system does
+ * not support watching, every poll reports a change, so that no result is reused on the assumption that the files
+ * did not change.
+ */
+final class FileChangeWatcher {
+    private final FileSystem fileSystem;
+    private final Set<Path> files = new HashSet<>();
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private WatchService service;
+    private boolean unsupported;
+
+    FileChangeWatcher() {
+        this(FileSystems.getDefault());
+    }
+
+    /**
+     * Creates a watcher of the files of the given file system.
+     */
+    FileChangeWatcher(FileSystem fileSystem) {
+        this.fileSystem = fileSystem;
+    }
+
+    /**
+     * Watches the given files, in addition to those already watched.
+     *
+     * @param fileNames the names of the files.
+     * @return whether the files are watched, which is not the case if the file system does not support it. The
+     *         files whose parent directory does not exist are not watched until it is created, but do not make this
+     *         method fail.
+     */
+    synchronized boolean watch(Collection<String> fileNames) {
+        if (unsupported) {
+            return false;
+        }
+        try {
+            for (String fileName : fileNames) {
+                final Path file = fileSystem.getPath(fileName).toAbsolutePath().normalize();
+                final Path directory = file.getParent();
+                if (directory == null || files.contains(file) || !Files.isDirectory(directory)) {
+                    continue;
+                }
+                files.add(file);
+                if (directories.containsValue(directory)) {
+                    continue;
+                }
+                if (service == null) {
+                    service = directory.getFileSystem().newWatchService();
+                }
+                final WatchKey key = directory.register(
+                        service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, directory);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // E.g. no more inotify instances, or a file system which does not support watching.
+            close();
+            unsupported = true;
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether one of the watched files has changed since the previous call, consuming the pending events.
+     * Changes are always reported if the files could not be watched.
+     */
+    synchronized boolean pollChanges() {
+        if (unsupported) {
+            return true;
+        }
+        if (service == null) {
+            return false;
+        }
+        boolean changed = false;
+        try {
+            WatchKey key;
+            while ((key = service.poll()) != null) {
+                final Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || (directory != null && files.contains(directory.resolve((Path) event.context())))) {
+                        changed = true;
+                    }
+                }
+                if (!key.reset()) {
+                    // The directory was deleted: watch it again once it is recreated.
+                    directories.remove(key);
+                    files.removeIf(file -> file.getParent().equals(directory));
+                    changed = true;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            close();
+            unsupported = true;
+            return true;
+        }
+        return changed;
+    }
+
+    private void close() {
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                // Ignore.
+            }
+            service = null;
+        }
+        directories.clear();
+        files.clear();
+    }
+}
@@ -33,4 +33,18 @@ public interface FileOperationProvider {
      *             file, or for some other reason cannot be opened for reading.
      */
     InputStream readFile(String filePath) throws IOException;
+
+    /**
+     * Gets a stamp of the file with the specified path, that changes whenever the file is modified or replaced,
+     * for example composed of its size, modification time and inode. It is used to decide whether a cached
+     * detection result is still valid.
+     *
+     * @param      filePath   the system-dependent file path.
+     * @return     the stamp of the file, an empty string if the file does not exist, or {@code null} if this
+     *             provider cannot stamp files, which is the default, in which case the detection is not cached.
+     * @throws     IOException if the attributes of the file cannot be read.
+     */
+    default String getFileStamp(String filePath) throws IOException {
+        return null;
+    }
 }
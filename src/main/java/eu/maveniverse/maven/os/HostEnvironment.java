@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+/**
+ * Detects the host running the build, e.g. an IDE embedding Maven. The detection walks the stack of the first caller
+ * only, and its result is cached for the life of the JVM.
+ */
+final class HostEnvironment {
+
+    /**
+     * The property controlling the injection of the detected properties into the repository session: {@code true}
+     * to always inject them, {@code false} to never inject them. By default, they are injected unless the build runs
+     * in a host known not to support it.
+     */
+    static final String INJECT_REPOSITORY_SESSION_PROPERTY = "os.detection.injectRepositorySession";
+
+    private static final String INTELLIJ_PACKAGE = "org.jetbrains.idea.maven";
+
+    private static volatile Boolean intelliJ;
+
+    /**
+     * Returns whether the properties should be injected into the repository session.
+     *
+     * @param value the value of the {@value #INJECT_REPOSITORY_SESSION_PROPERTY} property, may be {@code null}.
+     * @return whether the properties should be injected.
+     */
+    static boolean shouldInjectRepositorySession(String value) {
+        if (value != null && !value.isEmpty()) {
+            return Boolean.parseBoolean(value.trim());
+        }
+        // Work around the 'NoClassDefFoundError' or 'ClassNotFoundException' related with Aether in IntelliJ IDEA.
+        return !isIntelliJ();
+    }
+
+    /**
+     * Returns whether the build is run by IntelliJ IDEA, which calls Maven from its own packages.
+     */
+    static boolean isIntelliJ() {
+        Boolean result = intelliJ;
+        if (result == null) {
+            result = StackWalker.getInstance()
+                    .walk(frames -> frames.anyMatch(f -> f.getClassName().startsWith(INTELLIJ_PACKAGE)));
+            intelliJ = result;
+        }
+        return result;
+    }
+
+    private HostEnvironment() {}
+}
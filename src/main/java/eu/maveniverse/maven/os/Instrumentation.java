@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Emits the JFR events of the detector and the extension, see {@link JfrEvents}. The events are only created when
+ * the {@code jdk.jfr} module is available and the flight recorder has been started, so that this costs next to
+ * nothing otherwise: not even the event classes are loaded, as registering them initializes the flight recorder.
+ * <p>
+ * Each {@code begin} method returns a token to pass to the matching {@code end} method, which is {@code null} when
+ * the event is not recorded.
+ */
+final class Instrumentation {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private Instrumentation() {}
+
+    private static boolean isAvailable() {
+        try {
+            return ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static boolean isRecording() {
+        return AVAILABLE && FlightRecorder.isInitialized();
+    }
+
+    static Object begin() {
+        return isRecording() ? JfrEvents.begin() : null;
+    }
+
+    /**
+     * Ends a phase of the detector, such as reading the system properties, normalizing them or parsing the release
+     * files.
+     */
+    static void endDetectorPhase(Object token, String phase) {
+        if (token != null) {
+            JfrEvents.endDetectorPhase(token, phase);
+        }
+    }
+
+    static Object beginInterpolation() {
+        return isRecording() ? JfrEvents.beginInterpolation() : null;
+    }
+
+    /**
+     * Ends the interpolation of a project.
+     */
+    static void endInterpolation(Object token, String project, int models, int dependencies, int rewrittenValues) {
+        if (token != null) {
+            JfrEvents.endInterpolation(token, project, models, dependencies, rewrittenValues);
+        }
+    }
+
+    static Object beginRepositorySessionInjection() {
+        return isRecording() ? JfrEvents.beginRepositorySessionInjection() : null;
+    }
+
+    /**
+     * Ends the injection of the detected properties into the repository session.
+     */
+    static void endRepositorySessionInjection(Object token, int properties, boolean injected) {
+        if (token != null) {
+            JfrEvents.endRepositorySessionInjection(token, properties, injected);
+        }
+    }
+
+    static Object beginExtensionPhase() {
+        return isRecording() ? JfrEvents.beginExtensionPhase() : null;
+    }
+
+    /**
+     * Ends a callback of the extension, such as {@code afterSessionStart} or {@code afterProjectsRead}.
+     */
+    static void endExtensionPhase(Object token, String phase, int projects) {
+        if (token != null) {
+            JfrEvents.endExtensionPhase(token, phase, projects);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Replaces {@code ${key}} references to the entries of a dictionary in a single pass.
+ * <p>
+ * References to unknown keys, unterminated references and a {@code $} that is not followed by {@code {} are kept
+ * as is. Values that contain references themselves are resolved when they are substituted, instead of re-scanning
+ * the whole result until nothing changes anymore, and a value referencing itself is substituted once.
+ */
+final class Interpolator {
+    private static final String BEGIN_TOKEN = "${";
+    private static final char END_TOKEN = '}';
+
+    /**
+     * Interpolates the value.
+     *
+     * @param dict the dictionary to look the keys up in.
+     * @param value the value to interpolate, may be {@code null}.
+     * @return the interpolated value, or the given instance if it does not reference any key of the dictionary.
+     */
+    static String interpolate(Map<String, String> dict, String value) {
+        if (value == null || value.indexOf(BEGIN_TOKEN) < 0) {
+            // Nothing to interpolate.
+            return value;
+        }
+        return interpolate(dict, value, null);
+    }
+
+    private static String interpolate(Map<String, String> dict, String value, Deque<String> resolving) {
+        // Only allocated once the first reference is replaced.
+        StringBuilder sb = null;
+        final int length = value.length();
+        int copied = 0;
+        int i = value.indexOf('$');
+        while (i >= 0 && i + 1 < length) {
+            if (value.charAt(i + 1) != '{') {
+                // Like the plexus InterpolationFilterReader, the character following a '$' never starts a reference.
+                i = value.indexOf('$', i + 2);
+                continue;
+            }
+            final int end = value.indexOf(END_TOKEN, i + 2);
+            if (end < 0) {
+                // Unterminated reference.
+                break;
+            }
+            final String key = value.substring(i + 2, end);
+            String replacement = dict.get(key);
+            if (replacement == null || (resolving != null && resolving.contains(key))) {
+                // Unknown key, or a value referencing itself: keep the reference as is.
+                i = value.indexOf('$', end + 1);
+                continue;
+            }
+            if (replacement.indexOf(BEGIN_TOKEN) >= 0) {
+                final Deque<String> nested = resolving != null ? resolving : new ArrayDeque<>();
+                nested.push(key);
+                replacement = interpolate(dict, replacement, nested);
+                nested.pop();
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length + replacement.length());
+            }
+            sb.append(value, copied, i).append(replacement);
+            copied = end + 1;
+            i = value.indexOf('$', copied);
+        }
+        if (sb == null) {
+            return value;
+        }
+        return sb.append(value, copied, length).toString();
+    }
+
+    private Interpolator() {}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR events of the detector and the extension, which are only referenced through {@link Instrumentation} so
+ * that this class is never loaded when the {@code jdk.jfr} module is not available. They are recorded by any
+ * recording, e.g. {@code -XX:StartFlightRecording}, and can be disabled in its settings.
+ */
+final class JfrEvents {
+    private static final String PREFIX = "eu.maveniverse.maven.os.";
+
+    private JfrEvents() {}
+
+    static Object begin() {
+        return begin(new DetectorPhaseEvent());
+    }
+
+    static void endDetectorPhase(Object token, String phase) {
+        final DetectorPhaseEvent event = (DetectorPhaseEvent) token;
+        event.phase = phase;
+        event.commit();
+    }
+
+    static Object beginInterpolation() {
+        return begin(new InterpolationEvent());
+    }
+
+    static void endInterpolation(Object token, String project, int models, int dependencies, int rewrittenValues) {
+        final InterpolationEvent event = (InterpolationEvent) token;
+        event.project = project;
+        event.models = models;
+        event.dependencies = dependencies;
+        event.rewrittenValues = rewrittenValues;
+        event.commit();
+    }
+
+    static Object beginRepositorySessionInjection() {
+        return begin(new RepositorySessionInjectionEvent());
+    }
+
+    static void endRepositorySessionInjection(Object token, int properties, boolean injected) {
+        final RepositorySessionInjectionEvent event = (RepositorySessionInjectionEvent) token;
+        event.properties = properties;
+        event.injected = injected;
+        event.commit();
+    }
+
+    static Object beginExtensionPhase() {
+        return begin(new ExtensionPhaseEvent());
+    }
+
+    static void endExtensionPhase(Object token, String phase, int projects) {
+        final ExtensionPhaseEvent event = (ExtensionPhaseEvent) token;
+        event.phase = phase;
+        event.projects = projects;
+        event.commit();
+    }
+
+    private static Event begin(Event event) {
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Name(PREFIX + "DetectorPhase")
+    @Label("Detector Phase")
+    @Category({"Maven", "OS Detection"})
+    @Description("A phase of the detection of the operating system and CPU architecture")
+    @StackTrace(false)
+    static final class DetectorPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name(PREFIX + "Interpolation")
+    @Label("Project Interpolation")
+    @Category({"Maven", "OS Detection"})
+    @Description("The interpolation of the detected properties into the models of a project")
+    @StackTrace(false)
+    static final class InterpolationEvent extends Event {
+        @Label("Project")
+        String project;
+
+        @Label("Models")
+        int models;
+
+        @Label("Dependencies")
+        int dependencies;
+
+        @Label("Rewritten Values")
+        int rewrittenValues;
+    }
+
+    @Name(PREFIX + "RepositorySessionInjection")
+    @Label("Repository Session Injection")
+    @Category({"Maven", "OS Detection"})
+    @Description("The injection of the detected properties into the repository session")
+    @StackTrace(false)
+    static final class RepositorySessionInjectionEvent extends Event {
+        @Label("Properties")
+        int properties;
+
+        @Label("Injected")
+        boolean injected;
+    }
+
+    @Name(PREFIX + "ExtensionPhase")
+    @Label("Extension Phase")
+    @Category({"Maven", "OS Detection"})
+    @Description("A callback of the os-maven-plugin extension")
+    @StackTrace(false)
+    static final class ExtensionPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Projects")
+        int projects;
+    }
+}
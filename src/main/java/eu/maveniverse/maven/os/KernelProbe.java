@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Detects the version and some features of the Linux kernel, e.g. to choose between the io_uring, epoll and NIO
+ * transports of a networking library. The version is read from {@code /proc/sys/kernel/osrelease}, and the features
+ * from the kernel configuration, either {@code /proc/config.gz}, which is decompressed as it is read, or
+ * {@code /boot/config-<release>}, and from the sysctls restricting them.
+ */
+final class KernelProbe extends PlatformProbe {
+    static final String GROUP = "kernel";
+
+    static final String DETECTED_KERNEL = "os.detected.kernel";
+    static final String DETECTED_KERNEL_RELEASE = DETECTED_KERNEL + ".release";
+    static final String DETECTED_KERNEL_VERSION = DETECTED_KERNEL + ".version";
+    static final String DETECTED_KERNEL_VERSION_MAJOR = DETECTED_KERNEL_VERSION + ".major";
+    static final String DETECTED_KERNEL_VERSION_MINOR = DETECTED_KERNEL_VERSION + ".minor";
+    static final String DETECTED_KERNEL_VERSION_PATCH = DETECTED_KERNEL_VERSION + ".patch";
+    static final String DETECTED_KERNEL_FEATURES_PREFIX = DETECTED_KERNEL + ".features.";
+
+    private static final String OSRELEASE_FILE = "/proc/sys/kernel/osrelease";
+    private static final String IO_URING_DISABLED_FILE = "/proc/sys/kernel/io_uring_disabled";
+    private static final String PROC_CONFIG_FILE = "/proc/config.gz";
+    private static final String BOOT_CONFIG_FILE_PREFIX = "/boot/config-";
+    private static final String UNSET_SUFFIX = " is not set";
+    private static final Pattern VERSION_REGEX = Pattern.compile("(\\d+)\\.(\\d+)(?:\\.(\\d+))?");
+
+    /**
+     * The features detected from the kernel configuration, and their configuration options.
+     */
+    private static final String[][] CONFIG_FEATURES = {
+        {"io_uring", "CONFIG_IO_URING"},
+        {"epoll", "CONFIG_EPOLL"},
+        {"bpf", "CONFIG_BPF_SYSCALL"},
+        {"seccomp", "CONFIG_SECCOMP"},
+        {"user_namespaces", "CONFIG_USER_NS"},
+        {"transparent_hugepage", "CONFIG_TRANSPARENT_HUGEPAGE"}
+    };
+
+    KernelProbe() {
+        super(GROUP, DETECTED_KERNEL);
+    }
+
+    @Override
+    void detect(FileOperationProvider files, Map<String, String> detected) {
+        if (!"linux".equals(detected.get(Detector.DETECTED_NAME))) {
+            return;
+        }
+        final String release = readFirstLine(files, OSRELEASE_FILE);
+        final int[] version = parseVersion(release);
+        if (release != null) {
+            detected.put(DETECTED_KERNEL_RELEASE, release);
+        }
+        if (version != null) {
+            detected.put(DETECTED_KERNEL_VERSION, version[0] + "." + version[1] + "." + version[2]);
+            detected.put(DETECTED_KERNEL_VERSION_MAJOR, String.valueOf(version[0]));
+            detected.put(DETECTED_KERNEL_VERSION_MINOR, String.valueOf(version[1]));
+            detected.put(DETECTED_KERNEL_VERSION_PATCH, String.valueOf(version[2]));
+        }
+
+        Map<String, Boolean> config = readConfig(files, PROC_CONFIG_FILE, true);
+        if (config == null && release != null) {
+            config = readConfig(files, BOOT_CONFIG_FILE_PREFIX + release, false);
+        }
+        final Map<String, Boolean> features = getFeatures(
+                version, config, parseLong(readFirstLine(files, IO_URING_DISABLED_FILE)));
+        for (Map.Entry<String, Boolean> feature : features.entrySet()) {
+            detected.put(DETECTED_KERNEL_FEATURES_PREFIX + feature.getKey(), String.valueOf(feature.getValue()));
+        }
+    }
+
+    /**
+     * Parses the major, minor and patch numbers of a kernel release, e.g. {@code 6.8.0} for
+     * {@code 6.8.0-45-generic}, or returns {@code null} if it is not a kernel release.
+     */
+    static int[] parseVersion(String release) {
+        if (release == null) {
+            return null;
+        }
+        final Matcher matcher = VERSION_REGEX.matcher(release);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        try {
+            return new int[] {
+                Integer.parseInt(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)),
+                matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the options of {@link #CONFIG_FEATURES} from a kernel configuration, which is only read until they are
+     * all found. Returns whether each option is enabled, built in or as a module, or {@code null} if the
+     * configuration cannot be read.
+     */
+    static Map<String, Boolean> readConfig(FileOperationProvider files, String fileName, boolean compressed) {
+        try (InputStream in = files.readFile(fileName);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        compressed ? new GZIPInputStream(in) : in, StandardCharsets.UTF_8))) {
+            return parseConfig(reader);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static Map<String, Boolean> parseConfig(BufferedReader reader) throws IOException {
+        final Map<String, Boolean> options = new HashMap<>();
+        String line;
+        while (options.size() < CONFIG_FEATURES.length && (line = reader.readLine()) != null) {
+            // Either "CONFIG_FOO=y", "CONFIG_FOO=m", "CONFIG_FOO=<value>" or "# CONFIG_FOO is not set".
+            final String option;
+            final boolean enabled;
+            if (line.startsWith("# CONFIG_") && line.endsWith(UNSET_SUFFIX)) {
+                option = line.substring(2, line.length() - UNSET_SUFFIX.length());
+                enabled = false;
+            } else if (line.startsWith("CONFIG_") && line.indexOf('=') > 0) {
+                option = line.substring(0, line.indexOf('='));
+                enabled = line.endsWith("=y") || line.endsWith("=m");
+            } else {
+                continue;
+            }
+            for (String[] feature : CONFIG_FEATURES) {
+                if (feature[1].equals(option)) {
+                    options.put(option, enabled);
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Returns the features of the kernel: those of {@link #CONFIG_FEATURES} set in the configuration, if it is
+     * known, and io_uring and epoll otherwise, from the version of the kernel. io_uring, available since Linux 5.1,
+     * is also disabled by the {@code kernel.io_uring_disabled} sysctl, for all processes when set to {@code 2}, or
+     * for the processes not in the {@code kernel.io_uring_group} group when set to {@code 1}, which is assumed.
+     */
+    static Map<String, Boolean> getFeatures(int[] version, Map<String, Boolean> config, Long ioUringDisabled) {
+        final Map<String, Boolean> features = new LinkedHashMap<>();
+        for (String[] feature : CONFIG_FEATURES) {
+            final Boolean enabled = config != null ? config.get(feature[1]) : null;
+            if (enabled != null) {
+                features.put(feature[0], enabled);
+            }
+        }
+        if (version != null) {
+            features.putIfAbsent("epoll", true);
+            features.putIfAbsent("io_uring", version[0] > 5 || (version[0] == 5 && version[1] >= 1));
+        }
+        if (features.containsKey("io_uring") && ioUringDisabled != null && ioUringDisabled != 0) {
+            features.put("io_uring", false);
+        }
+        return features;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Detects the flavour and version of the C library on Linux, from the program interpreter of the running JVM: the
+ * {@code PT_INTERP} segment of the ELF executable {@code /proc/self/exe} names the dynamic loader, which is part of
+ * the C library. Only bounded prefixes of the files are read.
+ */
+final class LibcProbe extends PlatformProbe {
+    static final String GROUP = "libc";
+
+    static final String DETECTED_LIBC = "os.detected.libc";
+    static final String DETECTED_LIBC_VERSION = DETECTED_LIBC + ".version";
+    static final String DETECTED_LIBC_TAGS = DETECTED_LIBC + ".tags";
+
+    static final String GLIBC = "glibc";
+    static final String MUSL = "musl";
+
+    private static final String EXE_FILE = "/proc/self/exe";
+    private static final String APK_INSTALLED_FILE = "/lib/apk/db/installed";
+    // The program headers follow the ELF header, and the interpreter path is usually in the first page.
+    private static final int ELF_HEADER_MAX_LENGTH = 4096;
+    // The glibc dynamic loader is about 200 KiB, the musl one, which is the whole C library, about 600 KiB.
+    private static final int INTERPRETER_MAX_LENGTH = 1024 * 1024;
+    private static final int PT_INTERP = 3;
+    private static final byte[] GLIBC_VERSION_MARKER = "release version ".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern VERSION_REGEX = Pattern.compile("(\\d+)\\.(\\d+)");
+
+    // The oldest versions with a compatibility tag, and the legacy aliases of the manylinux tags.
+    private static final int MANYLINUX_MIN_MINOR = 5;
+    private static final int MUSLLINUX_MIN_MINOR = 1;
+    private static final String[][] MANYLINUX_ALIASES = {
+        {"2_17", "manylinux2014"}, {"2_12", "manylinux2010"}, {"2_5", "manylinux1"}
+    };
+
+    LibcProbe() {
+        super(GROUP, DETECTED_LIBC);
+    }
+
+    @Override
+    void detect(FileOperationProvider files, Map<String, String> detected) {
+        if (!"linux".equals(detected.get(Detector.DETECTED_NAME))) {
+            return;
+        }
+        final String interpreter = parseInterpreter(readBytes(files, EXE_FILE, ELF_HEADER_MAX_LENGTH));
+        final String flavour = getFlavour(interpreter);
+        if (flavour == null) {
+            return;
+        }
+        detected.put(DETECTED_LIBC, flavour);
+
+        final String version = GLIBC.equals(flavour)
+                ? parseGlibcVersion(readBytes(files, interpreter, INTERPRETER_MAX_LENGTH))
+                : parseApkVersion(readLines(files, APK_INSTALLED_FILE), MUSL);
+        if (version != null) {
+            detected.put(DETECTED_LIBC_VERSION, version);
+            final List<String> tags = getTags(flavour, version, detected.get(Detector.DETECTED_ARCH));
+            if (!tags.isEmpty()) {
+                detected.put(DETECTED_LIBC_TAGS, String.join(",", tags));
+            }
+        }
+    }
+
+    /**
+     * Parses the path of the program interpreter from the beginning of an ELF executable, or returns {@code null}
+     * if it is not an ELF executable, is statically linked, or its interpreter is not within the given bytes.
+     */
+    static String parseInterpreter(byte[] elf) {
+        if (elf == null || elf.length < 52 || elf[0] != 0x7f || elf[1] != 'E' || elf[2] != 'L' || elf[3] != 'F') {
+            return null;
+        }
+        final boolean is64 = elf[4] == 2;
+        final ByteBuffer buffer =
+                ByteBuffer.wrap(elf).order(elf[5] == 2 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        final long phoff = is64 ? buffer.getLong(0x20) : Integer.toUnsignedLong(buffer.getInt(0x1c));
+        final int phentsize = Short.toUnsignedInt(buffer.getShort(is64 ? 0x36 : 0x2a));
+        final int phnum = Short.toUnsignedInt(buffer.getShort(is64 ? 0x38 : 0x2c));
+        for (int i = 0; i < phnum; i++) {
+            final long offset = phoff + (long) i * phentsize;
+            if (phentsize < (is64 ? 56 : 32) || offset + phentsize > elf.length) {
+                return null;
+            }
+            if (buffer.getInt((int) offset) != PT_INTERP) {
+                continue;
+            }
+            final long start = is64
+                    ? buffer.getLong((int) offset + 8)
+                    : Integer.toUnsignedLong(buffer.getInt((int) offset + 4));
+            final long size = is64
+                    ? buffer.getLong((int) offset + 32)
+                    : Integer.toUnsignedLong(buffer.getInt((int) offset + 16));
+            if (start < 0 || size <= 1 || start + size > elf.length) {
+                return null;
+            }
+            // The path is NUL terminated.
+            return new String(elf, (int) start, (int) size - 1, StandardCharsets.US_ASCII);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the flavour of the C library of the given dynamic loader, or {@code null} if it is unknown.
+     */
+    static String getFlavour(String interpreter) {
+        if (interpreter == null) {
+            return null;
+        }
+        final String name = interpreter.substring(interpreter.lastIndexOf('/') + 1);
+        if (name.startsWith("ld-musl-")) {
+            return MUSL;
+        }
+        if (name.startsWith("ld-linux") || name.startsWith("ld64.so.") || name.startsWith("ld.so.")) {
+            return GLIBC;
+        }
+        return null;
+    }
+
+    /**
+     * Parses the glibc version from the banner of its dynamic loader, e.g. {@code release version 2.36.}.
+     */
+    static String parseGlibcVersion(byte[] loader) {
+        if (loader == null) {
+            return null;
+        }
+        final byte[] marker = GLIBC_VERSION_MARKER;
+        outer:
+        for (int i = 0; i + marker.length < loader.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (loader[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            int end = i + marker.length;
+            while (end < loader.length && (Character.isDigit(loader[end]) || loader[end] == '.')) {
+                end++;
+            }
+            final Matcher matcher = VERSION_REGEX.matcher(
+                    new String(loader, i + marker.length, end - i - marker.length, StandardCharsets.US_ASCII));
+            if (matcher.lookingAt()) {
+                return matcher.group();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the version of a package from the Alpine package database, without its release, e.g. {@code 1.2.4}
+     * for {@code 1.2.4-r2}.
+     */
+    static String parseApkVersion(List<String> installed, String packageName) {
+        if (installed == null) {
+            return null;
+        }
+        boolean inPackage = false;
+        for (String line : installed) {
+            if (line.startsWith("P:")) {
+                inPackage = line.substring(2).equals(packageName);
+            } else if (inPackage && line.startsWith("V:")) {
+                final Matcher matcher = VERSION_REGEX.matcher(line.substring(2));
+                return matcher.lookingAt() ? line.substring(2).split("-", 2)[0] : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the compatibility tags of the given C library, from the most to the least specific, following the
+     * manylinux (PEP 600) and musllinux (PEP 656) conventions, e.g. {@code manylinux_2_36_x86_64} down to
+     * {@code manylinux1_x86_64}.
+     */
+    static List<String> getTags(String flavour, String version, String arch) {
+        final List<String> tags = new ArrayList<>();
+        final Matcher matcher = VERSION_REGEX.matcher(version);
+        if (!matcher.lookingAt()) {
+            return tags;
+        }
+        final int major = Integer.parseInt(matcher.group(1));
+        final int minor = Integer.parseInt(matcher.group(2));
+        final String platform = getTagArch(arch);
+        if (GLIBC.equals(flavour) && major == 2) {
+            for (int m = minor; m >= MANYLINUX_MIN_MINOR; m--) {
+                final String glibc = major + "_" + m;
+                tags.add("manylinux_" + glibc + "_" + platform);
+                for (String[] alias : MANYLINUX_ALIASES) {
+                    if (alias[0].equals(glibc)) {
+                        tags.add(alias[1] + "_" + platform);
+                    }
+                }
+            }
+        } else if (MUSL.equals(flavour) && major == 1) {
+            for (int m = minor; m >= MUSLLINUX_MIN_MINOR; m--) {
+                tags.add("musllinux_" + major + "_" + m + "_" + platform);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the architecture name used in the compatibility tags for a normalized architecture.
+     */
+    private static String getTagArch(String arch) {
+        if (arch == null) {
+            return Normalizer.UNKNOWN;
+        }
+        switch (arch) {
+            case "x86_32":
+                return "i686";
+            case "aarch_64":
+                return "aarch64";
+            case "arm_32":
+                return "armv7l";
+            case "ppcle_64":
+                return "ppc64le";
+            case "ppc_64":
+                return "ppc64";
+            case "s390_64":
+                return "s390x";
+            default:
+                return arch;
+        }
+    }
+}
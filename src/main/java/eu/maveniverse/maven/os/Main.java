@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the detection from the command line, e.g. {@code java -jar os-maven-plugin.jar --format=shell}, and prints the
+ * detected properties, so that scripts get the same {@code os.detected.classifier} as Maven without starting it.
+ * <p>
+ * Like the other entry points, the detection is configured with system properties, which can be overridden with
+ * {@code -Dname=value} arguments. The arguments only apply to the detection, and the detected properties are not set
+ * as system properties of the JVM. This class must not reference any Maven or Plexus class, which are not on the
+ * class path of {@code java -jar}.
+ */
+public final class Main {
+    static final int EXIT_OK = 0;
+    static final int EXIT_DETECTION_FAILED = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = "Usage: java -jar os-maven-plugin.jar [options] [-Dname=value...]\n"
+            + "\n"
+            + "Detects the operating system and CPU architecture and prints the os.detected.* properties.\n"
+            + "\n"
+            + "Options:\n"
+            + "  --format=<format>  the output format: properties (default), json or shell\n"
+            + "  --verbose          logs the detection to the standard error\n"
+            + "  --help             prints this help\n"
+            + "  -Dname=value       overrides a system property, e.g. -Dos.detection.classifierWithLikes=fedora,suse\n";
+
+    /**
+     * The output formats.
+     */
+    enum Format {
+        /**
+         * {@code name=value} lines.
+         */
+        PROPERTIES,
+        /**
+         * A JSON object.
+         */
+        JSON,
+        /**
+         * POSIX shell {@code export} statements, with the names in upper case, e.g. {@code OS_DETECTED_CLASSIFIER}.
+         */
+        SHELL
+    }
+
+    private Main() {}
+
+    public static void main(String[] args) {
+        final int status = run(args, System.out, System.err);
+        if (status != EXIT_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the detection.
+     *
+     * @return the exit status.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        final Map<String, String> properties = new HashMap<>();
+        Format format = Format.PROPERTIES;
+        boolean verbose = false;
+        for (String arg : args) {
+            if (arg.startsWith("-D") && arg.length() > 2) {
+                final int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    properties.put(arg.substring(2), "true");
+                } else {
+                    properties.put(arg.substring(2, eq), arg.substring(eq + 1));
+                }
+            } else if (arg.startsWith("--format=")) {
+                try {
+                    format = Format.valueOf(arg.substring("--format=".length()).toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    err.println("Unknown format: " + arg.substring("--format=".length()));
+                    err.print(USAGE);
+                    return EXIT_USAGE;
+                }
+            } else if ("--verbose".equals(arg)) {
+                verbose = true;
+            } else if ("--help".equals(arg) || "-h".equals(arg)) {
+                out.print(USAGE);
+                return EXIT_OK;
+            } else {
+                err.println("Unknown argument: " + arg);
+                err.print(USAGE);
+                return EXIT_USAGE;
+            }
+        }
+
+        final boolean log = verbose;
+        final SystemPropertyOperationProvider systemProperties = new ArgumentSystemPropertyOperations(properties);
+        final Detector detector = new Detector(systemProperties, new Detector.SimpleFileOperations()) {
+            @Override
+            protected void log(String message) {
+                if (log) {
+                    err.println(message);
+                }
+            }
+
+            @Override
+            protected void logProperty(String name, String value) {
+                if (log) {
+                    err.println(name + ": " + value);
+                }
+            }
+        };
+        final DetectionResult result;
+        try {
+            // DetectMojo.CLASSIFIER_WITH_LIKES_PROPERTY is a constant, which does not load the mojo class.
+            result = detector.detect(Detector.splitList(
+                    systemProperties.getSystemProperty(DetectMojo.CLASSIFIER_WITH_LIKES_PROPERTY)));
+        } catch (DetectionException e) {
+            err.println(e.getMessage());
+            return EXIT_DETECTION_FAILED;
+        }
+        out.print(format(result.getProperties(), format));
+        out.flush();
+        return EXIT_OK;
+    }
+
+    /**
+     * Formats the detected properties.
+     */
+    static String format(Map<String, String> properties, Format format) {
+        final StringBuilder sb = new StringBuilder();
+        switch (format) {
+            case JSON:
+                sb.append('{');
+                String separator = "\n";
+                for (Map.Entry<String, String> e : properties.entrySet()) {
+                    sb.append(separator).append("  ");
+                    appendJsonString(sb, e.getKey());
+                    sb.append(": ");
+                    appendJsonString(sb, e.getValue());
+                    separator = ",\n";
+                }
+                sb.append(properties.isEmpty() ? "}\n" : "\n}\n");
+                break;
+            case SHELL:
+                for (Map.Entry<String, String> e : properties.entrySet()) {
+                    sb.append("export ");
+                    appendShellName(sb, e.getKey());
+                    sb.append("='").append(e.getValue().replace("'", "'\\''")).append("'\n");
+                }
+                break;
+            default:
+                for (Map.Entry<String, String> e : properties.entrySet()) {
+                    sb.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+                }
+                break;
+        }
+        return sb.toString();
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Appends the name of a property as a shell variable name, e.g. {@code OS_DETECTED_RELEASE_LIKE_DEBIAN} for
+     * {@code os.detected.release.like.debian}.
+     */
+    private static void appendShellName(StringBuilder sb, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9' && i > 0)) {
+                sb.append(Character.toUpperCase(c));
+            } else {
+                sb.append('_');
+            }
+        }
+    }
+
+    /**
+     * Reads the {@code -D} arguments, then the system properties, and keeps the detected properties in the arguments
+     * instead of setting them as system properties.
+     */
+    private static final class ArgumentSystemPropertyOperations implements SystemPropertyOperationProvider {
+        private final Map<String, String> properties;
+
+        ArgumentSystemPropertyOperations(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public String getSystemProperty(String name) {
+            final String value = properties.get(name);
+            return value != null ? value : System.getProperty(name);
+        }
+
+        @Override
+        public String getSystemProperty(String name, String def) {
+            final String value = getSystemProperty(name);
+            return value != null ? value : def;
+        }
+
+        @Override
+        public String setSystemProperty(String name, String value) {
+            return properties.put(name, value);
+        }
+    }
+}
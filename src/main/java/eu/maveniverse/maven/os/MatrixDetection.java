@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Detects the properties of several target platforms concurrently. Each platform is detected by its own detector,
+ * whose system properties and files are those of the platform: the detection neither reads nor sets the system
+ * properties of the running JVM, nor reads its release files.
+ */
+final class MatrixDetection {
+    static final String TARGET_PREFIX = "os.target.";
+    static final String TARGETS_PROPERTY = "os.targets";
+
+    private static final String DETECTED_PREFIX = "os.detected.";
+
+    private MatrixDetection() {}
+
+    /**
+     * Detects the properties of the given platforms.
+     *
+     * @param platforms the target platforms.
+     * @param threads the number of threads to detect the platforms with.
+     * @return the detection results, by platform identifier, in the order of the platforms.
+     * @throws DetectionException if a platform is unknown.
+     */
+    static Map<String, DetectionResult> detect(List<TargetPlatform> platforms, int threads)
+            throws InterruptedException {
+        if (platforms.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(threads, platforms.size())));
+        // Failures are returned rather than thrown, as the pool would wrap them.
+        final List<Object> results;
+        try {
+            results = pool.submit(() -> platforms.parallelStream()
+                            .map(MatrixDetection::detectOrFail)
+                            .collect(Collectors.toList()))
+                    .get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        final Map<String, DetectionResult> byId = new LinkedHashMap<>();
+        for (int i = 0; i < platforms.size(); i++) {
+            final TargetPlatform platform = platforms.get(i);
+            if (results.get(i) instanceof DetectionException) {
+                throw (DetectionException) results.get(i);
+            }
+            final DetectionResult result = (DetectionResult) results.get(i);
+            final String id = platform.getId() != null
+                    ? platform.getId()
+                    : result.getProperty(Detector.DETECTED_CLASSIFIER);
+            if (byId.putIfAbsent(id, result) != null) {
+                throw new DetectionException("duplicate target platform: " + id);
+            }
+        }
+        return byId;
+    }
+
+    private static Object detectOrFail(TargetPlatform platform) {
+        try {
+            return detect(platform);
+        } catch (DetectionException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Detects the properties of a single platform, in isolation.
+     */
+    static DetectionResult detect(TargetPlatform platform) {
+        final Properties systemProperties = new Properties();
+        setProperty(systemProperties, "os.name", platform.getOsName());
+        setProperty(systemProperties, "os.arch", platform.getOsArch());
+        setProperty(systemProperties, "os.version", platform.getOsVersion() != null ? platform.getOsVersion() : "");
+        setProperty(systemProperties, "sun.arch.data.model", platform.getBitness());
+
+        final Detector detector = new Detector(new PlatformSystemProperties(systemProperties), fileName -> {
+            if ("/etc/os-release".equals(fileName) && platform.getOsRelease() != null) {
+                return Files.newInputStream(platform.getOsRelease().toPath());
+            }
+            if ("/etc/redhat-release".equals(fileName) && platform.getRedhatRelease() != null) {
+                return Files.newInputStream(platform.getRedhatRelease().toPath());
+            }
+            throw new NoSuchFileException(fileName);
+        }) {
+            @Override
+            protected void log(String message) {}
+
+            @Override
+            protected void logProperty(String name, String value) {}
+        };
+        try {
+            return detector.detect(DetectMojo.getClassifierWithLikes(platform.getClassifierWithLikes()));
+        } catch (DetectionException e) {
+            throw new DetectionException(platform + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sets the namespaced properties of the detected platforms: {@code os.target.<id>.<property>} for each detected
+     * {@code os.detected.<property>}, and {@code os.targets} to the comma-separated identifiers of the platforms.
+     */
+    static void publish(Properties props, Map<String, DetectionResult> results) {
+        for (Map.Entry<String, DetectionResult> entry : results.entrySet()) {
+            for (Map.Entry<String, String> property : entry.getValue().getProperties().entrySet()) {
+                final String name = property.getKey().startsWith(DETECTED_PREFIX)
+                        ? property.getKey().substring(DETECTED_PREFIX.length())
+                        : property.getKey();
+                props.setProperty(TARGET_PREFIX + entry.getKey() + '.' + name, property.getValue());
+            }
+        }
+        props.setProperty(TARGETS_PROPERTY, String.join(",", results.keySet()));
+    }
+
+    private static void setProperty(Properties props, String name, String value) {
+        if (value != null) {
+            props.setProperty(name, value);
+        }
+    }
+
+    /**
+     * The system properties of a target platform, which are never those of the running JVM.
+     */
+    private static final class PlatformSystemProperties implements SystemPropertyOperationProvider {
+        private final Properties props;
+
+        PlatformSystemProperties(Properties props) {
+            this.props = props;
+        }
+
+        @Override
+        public String getSystemProperty(String name) {
+            return props.getProperty(name);
+        }
+
+        @Override
+        public String getSystemProperty(String name, String def) {
+            return props.getProperty(name, def);
+        }
+
+        @Override
+        public String setSystemProperty(String name, String value) {
+            return (String) props.setProperty(name, value);
+        }
+    }
+}
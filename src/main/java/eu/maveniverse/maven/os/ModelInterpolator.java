@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Interpolates the detected properties into the models of projects: their properties, and the coordinates of their
+ * dependencies, managed dependencies and plugin dependencies.
+ * <p>
+ * An instance represents a single interpolation pass: each model, identified by identity, is processed at most once
+ * by a pass, however many projects share it as a parent. Models left without any reference to a detected property
+ * are recorded in a set of completed models, that can be shared between passes with the same detected properties so
+ * that later passes skip them, see {@link CompletedModels}.
+ * <p>
+ * Instances are thread-safe, so that projects can be interpolated concurrently.
+ */
+final class ModelInterpolator {
+    private static final String DETECTED_REFERENCE = "${os.detected.";
+
+    private final Map<String, String> dict;
+    private final Set<ModelBase> visited = newModelSet();
+    private final Set<ModelBase> completed;
+
+    /**
+     * Creates an interpolation pass.
+     *
+     * @param dict the detected properties.
+     * @param completed the models completed by previous passes, to which the models completed by this pass are added.
+     */
+    ModelInterpolator(Map<String, String> dict, Set<ModelBase> completed) {
+        this.dict = dict;
+        this.completed = completed;
+    }
+
+    /**
+     * Creates a thread-safe set of models, identified by identity.
+     */
+    static Set<ModelBase> newModelSet() {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * The models completed by the passes of a session. The completed models are only shared between passes with the
+     * same detected properties: when they change, e.g. as the Linux release is detected after the projects are read,
+     * the models completed with the previous properties have to be interpolated again so that they receive the new
+     * ones.
+     */
+    static final class CompletedModels {
+        private Map<String, String> dict;
+        private Set<ModelBase> models;
+
+        /**
+         * Returns the models completed by the previous passes with the given detected properties.
+         */
+        synchronized Set<ModelBase> get(Map<String, String> dict) {
+            if (!dict.equals(this.dict)) {
+                this.dict = new HashMap<>(dict);
+                this.models = newModelSet();
+            }
+            return models;
+        }
+    }
+
+    void interpolate(MavenProject p) {
+        if (p == null) {
+            return;
+        }
+
+        final Object event = Instrumentation.beginInterpolation();
+        final Counts counts = new Counts();
+        interpolate(p, counts);
+        Instrumentation.endInterpolation(event, p.getId(), counts.models, counts.dependencies, counts.rewritten);
+    }
+
+    private void interpolate(MavenProject p, Counts counts) {
+        if (p == null) {
+            return;
+        }
+
+        interpolate(p.getParent(), counts);
+        interpolate(p.getModel(), counts);
+        for (ModelBase model : p.getActiveProfiles()) {
+            interpolate(model, counts);
+        }
+    }
+
+    private void interpolate(ModelBase model, Counts counts) {
+        if (completed.contains(model) || !visited.add(model)) {
+            // Already interpolated by this pass or by a previous one.
+            return;
+        }
+        counts.models++;
+
+        final Properties modelProps = model.getProperties();
+        for (Map.Entry<String, String> e : dict.entrySet()) {
+            modelProps.setProperty(e.getKey(), String.valueOf(e.getValue()));
+        }
+        boolean unresolved = interpolate(model.getDependencies(), counts);
+
+        final DependencyManagement depMgmt = model.getDependencyManagement();
+        if (depMgmt != null) {
+            unresolved |= interpolate(depMgmt.getDependencies(), counts);
+        }
+
+        if (model instanceof Model) {
+            final Build build = ((Model) model).getBuild();
+            if (build != null) {
+                for (Plugin bp : build.getPlugins()) {
+                    unresolved |= interpolate(bp.getDependencies(), counts);
+                }
+                if (build.getPluginManagement() != null) {
+                    for (Plugin bp : build.getPluginManagement().getPlugins()) {
+                        unresolved |= interpolate(bp.getDependencies(), counts);
+                    }
+                }
+            }
+        }
+
+        if (!unresolved) {
+            completed.add(model);
+        }
+    }
+
+    /**
+     * Interpolates the dependencies.
+     *
+     * @return whether a reference to a detected property is left unresolved.
+     */
+    private boolean interpolate(Iterable<Dependency> dependencies, Counts counts) {
+        if (dependencies == null) {
+            return false;
+        }
+
+        boolean unresolved = false;
+        for (Dependency d : dependencies) {
+            counts.dependencies++;
+            d.setGroupId(interpolate(d.getGroupId(), counts));
+            d.setArtifactId(interpolate(d.getArtifactId(), counts));
+            d.setVersion(interpolate(d.getVersion(), counts));
+            d.setClassifier(interpolate(d.getClassifier(), counts));
+            d.setSystemPath(interpolate(d.getSystemPath(), counts));
+            unresolved |= isUnresolved(d.getGroupId())
+                    || isUnresolved(d.getArtifactId())
+                    || isUnresolved(d.getVersion())
+                    || isUnresolved(d.getClassifier())
+                    || isUnresolved(d.getSystemPath());
+            for (Exclusion e : d.getExclusions()) {
+                e.setGroupId(interpolate(e.getGroupId(), counts));
+                e.setArtifactId(interpolate(e.getArtifactId(), counts));
+                unresolved |= isUnresolved(e.getGroupId()) || isUnresolved(e.getArtifactId());
+            }
+        }
+        return unresolved;
+    }
+
+    private String interpolate(String value, Counts counts) {
+        final String interpolated = Interpolator.interpolate(dict, value);
+        if (interpolated != value) {
+            counts.rewritten++;
+        }
+        return interpolated;
+    }
+
+    private static boolean isUnresolved(String value) {
+        return value != null && value.contains(DETECTED_REFERENCE);
+    }
+
+    /**
+     * The work done while interpolating a project, reported by {@link Instrumentation}.
+     */
+    private static final class Counts {
+        int models;
+        int dependencies;
+        int rewritten;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Resolves the platform-specific artifacts of the projects concurrently, so that the mojos find them in the local
+ * repository instead of resolving them one at a time. The artifacts are the dependencies, managed dependencies and
+ * plugin dependencies whose classifier contains the detected {@code <name>-<arch>}, and the
+ * {@code groupId:artifactId:version:type:classifier} coordinates with such a classifier in plugin configurations,
+ * e.g. the {@code protocArtifact} of protobuf plugins.
+ */
+final class NativePrefetch {
+
+    /**
+     * The property enabling the prefetch: either {@code true} for one thread per available processor, or a number
+     * of threads.
+     */
+    static final String PREFETCH_PROPERTY = "os.detection.prefetch";
+
+    private static final Pattern COORDINATES_REGEX =
+            Pattern.compile("([\\w.\\-]+):([\\w.\\-]+):([\\w.\\-]+):([\\w.\\-]+):([\\w.\\-]+)");
+
+    private final String platform;
+    private final ArtifactAvailability availability;
+
+    NativePrefetch(Map<String, String> dict, ArtifactAvailability availability) {
+        this.platform = dict.get(Detector.DETECTED_NAME) + '-' + dict.get(Detector.DETECTED_ARCH);
+        this.availability = availability;
+    }
+
+    /**
+     * Collects the platform-specific artifacts of the projects, each artifact once.
+     */
+    List<Request> collect(List<MavenProject> projects) {
+        final Map<String, Request> requests = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            final Model model = project.getModel();
+            addAll(requests, project, model.getDependencies(), false);
+            final DependencyManagement depMgmt = model.getDependencyManagement();
+            if (depMgmt != null) {
+                addAll(requests, project, depMgmt.getDependencies(), false);
+            }
+            final Build build = model.getBuild();
+            if (build != null) {
+                addPlugins(requests, project, build.getPlugins());
+                if (build.getPluginManagement() != null) {
+                    addPlugins(requests, project, build.getPluginManagement().getPlugins());
+                }
+            }
+        }
+        return new ArrayList<>(requests.values());
+    }
+
+    /**
+     * Resolves the platform-specific artifacts of the projects.
+     *
+     * @param projects the projects.
+     * @param threads the number of threads to resolve the artifacts with.
+     * @return the number of artifacts which could be resolved.
+     */
+    int prefetch(List<MavenProject> projects, int threads) throws InterruptedException, ExecutionException {
+        final List<Request> requests = collect(projects);
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(threads, requests.size())));
+        try {
+            return pool.submit(() -> (int) requests.parallelStream()
+                            .filter(r -> availability.resolve(r.project, r.dependency, r.pluginDependency)
+                                    == ArtifactAvailability.Status.AVAILABLE)
+                            .count())
+                    .get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void addPlugins(Map<String, Request> requests, MavenProject project, List<Plugin> plugins) {
+        for (Plugin plugin : plugins) {
+            addAll(requests, project, plugin.getDependencies(), true);
+            addConfiguration(requests, project, plugin.getConfiguration());
+            for (PluginExecution execution : plugin.getExecutions()) {
+                addConfiguration(requests, project, execution.getConfiguration());
+            }
+        }
+    }
+
+    private void addConfiguration(Map<String, Request> requests, MavenProject project, Object configuration) {
+        // Plugin configurations are DOMs, whose string representation is their XML.
+        if (configuration == null) {
+            return;
+        }
+        final String xml = configuration.toString();
+        if (!xml.contains(platform)) {
+            return;
+        }
+        final Matcher matcher = COORDINATES_REGEX.matcher(xml);
+        while (matcher.find()) {
+            final Dependency dependency = new Dependency();
+            dependency.setGroupId(matcher.group(1));
+            dependency.setArtifactId(matcher.group(2));
+            dependency.setVersion(matcher.group(3));
+            dependency.setType(matcher.group(4));
+            dependency.setClassifier(matcher.group(5));
+            add(requests, project, dependency, false);
+        }
+    }
+
+    private void addAll(
+            Map<String, Request> requests, MavenProject project, List<Dependency> dependencies, boolean plugin) {
+        for (Dependency dependency : dependencies) {
+            add(requests, project, dependency, plugin);
+        }
+    }
+
+    private void add(Map<String, Request> requests, MavenProject project, Dependency dependency, boolean plugin) {
+        final String classifier = dependency.getClassifier();
+        final String version = dependency.getVersion();
+        if (classifier == null || !classifier.contains(platform) || version == null || version.contains("${")) {
+            return;
+        }
+        final String key = dependency.getGroupId() + ':' + dependency.getArtifactId() + ':' + dependency.getType()
+                + ':' + classifier + ':' + version + ':' + plugin;
+        requests.putIfAbsent(key, new Request(project, dependency, plugin));
+    }
+
+    /**
+     * An artifact to resolve, with the project whose repositories to resolve it from.
+     */
+    static final class Request {
+        final MavenProject project;
+        final Dependency dependency;
+        final boolean pluginDependency;
+
+        Request(MavenProject project, Dependency dependency, boolean pluginDependency) {
+            this.project = project;
+            this.dependency = dependency;
+            this.pluginDependency = pluginDependency;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Normalizes {@code os.name}, {@code os.arch} and {@code os.version} values into the vocabulary of the
+ * {@code os.detected.name}, {@code os.detected.arch} and {@code os.detected.version} properties.
+ * <p>
+ * Values are first lower-cased and stripped of their non-alphanumeric characters. Operating system names are then
+ * matched against a trie of name prefixes, the longest matching prefix winning, and architectures are matched
+ * against a trie of exact aliases. A prefix ending with a digit does not match a value continuing with another
+ * digit, so that {@code os400} does not match {@code os4000}. The tries are walked over the original value, folding
+ * and skipping its characters on the fly, so that ASCII values are normalized without allocating.
+ * <p>
+ * The normalized names and architectures are interned: every result is one of the instances of
+ * {@link #getOsNames()} or {@link #getArchNames()}, and results can therefore be compared by identity.
+ * <p>
+ * Additional aliases can be given as properties, whose keys are either {@code os.<prefix>} or
+ * {@code arch.<alias>} and whose values are the normalized names, e.g. {@code os.haiku=haiku} or
+ * {@code arch.armv7l=arm_32}. Additional aliases take precedence over the built-in ones.
+ * <p>
+ * Instances are immutable and thread-safe, and normalizing has no side effect, so that a single instance can be
+ * shared to normalize large batches of values, see {@link #normalizeOsBatch(String[])} and
+ * {@link #normalizeOsBatch(Stream)}.
+ */
+public final class Normalizer {
+    static final String UNKNOWN = "unknown";
+
+    private static final String OS_PREFIX = "os.";
+    private static final String ARCH_PREFIX = "arch.";
+
+    /**
+     * A character stripped by the normalization.
+     */
+    private static final int SKIPPED = -1;
+
+    /**
+     * A character which may be lower-cased into several characters, e.g. {@code U+0130}, for which the value is
+     * normalized before walking the trie.
+     */
+    private static final int NON_ASCII = -2;
+
+    private static final String[][] OS_ALIASES = {
+        {"aix", "aix"},
+        {"hpux", "hpux"},
+        {"os400", "os400"},
+        {"linux", "linux"},
+        {"mac", "osx"},
+        {"osx", "osx"},
+        {"freebsd", "freebsd"},
+        {"openbsd", "openbsd"},
+        {"netbsd", "netbsd"},
+        {"solaris", "sunos"},
+        {"sunos", "sunos"},
+        {"windows", "windows"},
+        {"zos", "zos"}
+    };
+
+    private static final String[][] ARCH_ALIASES = {
+        {"x8664", "x86_64"},
+        {"amd64", "x86_64"},
+        {"ia32e", "x86_64"},
+        {"em64t", "x86_64"},
+        {"x64", "x86_64"},
+        {"x8632", "x86_32"},
+        {"x86", "x86_32"},
+        {"i386", "x86_32"},
+        {"i486", "x86_32"},
+        {"i586", "x86_32"},
+        {"i686", "x86_32"},
+        {"ia32", "x86_32"},
+        {"x32", "x86_32"},
+        {"ia64", "itanium_64"},
+        {"ia64w", "itanium_64"},
+        {"itanium64", "itanium_64"},
+        {"ia64n", "itanium_32"},
+        {"sparc", "sparc_32"},
+        {"sparc32", "sparc_32"},
+        {"sparcv9", "sparc_64"},
+        {"sparc64", "sparc_64"},
+        {"arm", "arm_32"},
+        {"arm32", "arm_32"},
+        {"aarch64", "aarch_64"},
+        {"mips", "mips_32"},
+        {"mips32", "mips_32"},
+        {"mipsel", "mipsel_32"},
+        {"mips32el", "mipsel_32"},
+        {"mips64", "mips_64"},
+        {"mips64el", "mipsel_64"},
+        {"ppc", "ppc_32"},
+        {"ppc32", "ppc_32"},
+        {"ppcle", "ppcle_32"},
+        {"ppc32le", "ppcle_32"},
+        {"ppc64", "ppc_64"},
+        {"ppc64le", "ppcle_64"},
+        {"s390", "s390_32"},
+        {"s390x", "s390_64"},
+        {"riscv", "riscv"},
+        {"riscv32", "riscv"},
+        {"riscv64", "riscv64"},
+        {"e2k", "e2k"},
+        {"loongarch64", "loongarch_64"}
+    };
+
+    private static final Normalizer DEFAULT = new Normalizer(new Properties());
+
+    private final TrieNode osPrefixes = new TrieNode();
+    private final TrieNode archAliases = new TrieNode();
+    private final Set<String> osNames;
+    private final Set<String> archNames;
+
+    private Normalizer(Properties aliases) {
+        final Set<String> osNames = new LinkedHashSet<>();
+        final Set<String> archNames = new LinkedHashSet<>();
+        for (String[] alias : OS_ALIASES) {
+            osPrefixes.put(alias[0], alias[1]);
+            osNames.add(alias[1]);
+        }
+        for (String[] alias : ARCH_ALIASES) {
+            archAliases.put(alias[0], alias[1]);
+            archNames.add(alias[1]);
+        }
+        for (String key : aliases.stringPropertyNames()) {
+            // Interned, so that the results of all normalizers share the same instances.
+            final String value = aliases.getProperty(key).trim().intern();
+            if (key.startsWith(OS_PREFIX)) {
+                final String prefix = normalize(key.substring(OS_PREFIX.length()));
+                if (!prefix.isEmpty()) {
+                    osPrefixes.put(prefix, value);
+                    osNames.add(value);
+                }
+            } else if (key.startsWith(ARCH_PREFIX)) {
+                archAliases.put(normalize(key.substring(ARCH_PREFIX.length())), value);
+                archNames.add(value);
+            }
+        }
+        osNames.add(UNKNOWN);
+        archNames.add(UNKNOWN);
+        this.osNames = Collections.unmodifiableSet(osNames);
+        this.archNames = Collections.unmodifiableSet(archNames);
+    }
+
+    /**
+     * Gets the normalizer with the built-in aliases only.
+     *
+     * @return the default normalizer.
+     */
+    public static Normalizer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a normalizer with the built-in aliases and the given additional aliases.
+     *
+     * @param aliases the additional aliases, see the class documentation for their format.
+     * @return the normalizer.
+     */
+    public static Normalizer withAliases(Properties aliases) {
+        return aliases.isEmpty() ? DEFAULT : new Normalizer(aliases);
+    }
+
+    /**
+     * Normalizes an operating system name, e.g. {@code Mac OS X} to {@code osx}.
+     *
+     * @param value the value of the {@code os.name} system property.
+     * @return the normalized name, or {@code unknown}.
+     */
+    public String normalizeOs(String value) {
+        final String result = osPrefixes.longestPrefixMatch(value);
+        return result != null ? result : UNKNOWN;
+    }
+
+    /**
+     * Normalizes a batch of operating system names, see {@link #normalizeOs(String)}.
+     *
+     * @param values the values of the {@code os.name} system property.
+     * @return the normalized names, in the order of the values.
+     */
+    public String[] normalizeOsBatch(String[] values) {
+        final String[] results = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            results[i] = normalizeOs(values[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Lazily normalizes a stream of operating system names, see {@link #normalizeOs(String)}.
+     *
+     * @param values the values of the {@code os.name} system property.
+     * @return the stream of the normalized names.
+     */
+    public Stream<String> normalizeOsBatch(Stream<String> values) {
+        return values.map(this::normalizeOs);
+    }
+
+    /**
+     * Normalizes an architecture, e.g. {@code amd64} to {@code x86_64}.
+     *
+     * @param value the value of the {@code os.arch} system property.
+     * @return the normalized architecture, or {@code unknown}.
+     */
+    public String normalizeArch(String value) {
+        final String result = archAliases.exactMatch(value);
+        return result != null ? result : UNKNOWN;
+    }
+
+    /**
+     * Normalizes a batch of architectures, see {@link #normalizeArch(String)}.
+     *
+     * @param values the values of the {@code os.arch} system property.
+     * @return the normalized architectures, in the order of the values.
+     */
+    public String[] normalizeArchBatch(String[] values) {
+        final String[] results = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            results[i] = normalizeArch(values[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Lazily normalizes a stream of architectures, see {@link #normalizeArch(String)}.
+     *
+     * @param values the values of the {@code os.arch} system property.
+     * @return the stream of the normalized architectures.
+     */
+    public Stream<String> normalizeArchBatch(Stream<String> values) {
+        return values.map(this::normalizeArch);
+    }
+
+    /**
+     * Normalizes an operating system version to its major and minor numbers, e.g. {@code 6.8.0-45-generic} to
+     * {@code 6.8}.
+     *
+     * @param value the value of the {@code os.version} system property.
+     * @return the normalized version, or {@code null} if the value does not start with {@code <major>.<minor>}.
+     */
+    public String normalizeVersion(String value) {
+        if (value == null) {
+            return null;
+        }
+        final int dot = skipDigits(value, 0);
+        if (dot == 0 || dot == value.length() || value.charAt(dot) != '.') {
+            return null;
+        }
+        final int end = skipDigits(value, dot + 1);
+        if (end == dot + 1) {
+            return null;
+        }
+        return end == value.length() ? value : value.substring(0, end);
+    }
+
+    /**
+     * Normalizes a batch of operating system versions, see {@link #normalizeVersion(String)}.
+     *
+     * @param values the values of the {@code os.version} system property.
+     * @return the normalized versions, in the order of the values.
+     */
+    public String[] normalizeVersionBatch(String[] values) {
+        final String[] results = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            results[i] = normalizeVersion(values[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Gets the vocabulary of the normalized operating system names, including {@code unknown}.
+     *
+     * @return the interned names, unmodifiable.
+     */
+    public Set<String> getOsNames() {
+        return osNames;
+    }
+
+    /**
+     * Gets the vocabulary of the normalized architectures, including {@code unknown}.
+     *
+     * @return the interned architectures, unmodifiable.
+     */
+    public Set<String> getArchNames() {
+        return archNames;
+    }
+
+    private static int skipDigits(String value, int from) {
+        while (from < value.length() && value.charAt(from) >= '0' && value.charAt(from) <= '9') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Lower-cases the value and strips its non-alphanumeric characters.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        value = value.toLowerCase(Locale.US);
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (!isAlphanumeric(value.charAt(i))) {
+                final StringBuilder sb = new StringBuilder(length);
+                sb.append(value, 0, i);
+                for (i++; i < length; i++) {
+                    final char ch = value.charAt(i);
+                    if (isAlphanumeric(ch)) {
+                        sb.append(ch);
+                    }
+                }
+                return sb.toString();
+            }
+        }
+        // Nothing to strip.
+        return value;
+    }
+
+    private static boolean isAlphanumeric(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9');
+    }
+
+    /**
+     * Returns the index of the character in the normalized alphabet, folding upper-case ASCII letters, or
+     * {@link #SKIPPED} or {@link #NON_ASCII}.
+     */
+    private static int indexOf(char ch) {
+        if (ch >= 'a' && ch <= 'z') {
+            return ch - 'a' + 10;
+        } else if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        } else if (ch >= 'A' && ch <= 'Z') {
+            return ch - 'A' + 10;
+        }
+        return ch < 0x80 ? SKIPPED : NON_ASCII;
+    }
+
+    private static boolean isDigit(int index) {
+        return index >= 0 && index < 10;
+    }
+
+    /**
+     * A node of a trie over the normalized alphabet {@code [a-z0-9]}.
+     */
+    private static final class TrieNode {
+        private final TrieNode[] children = new TrieNode[36];
+        private String value;
+
+        void put(String key, String value) {
+            TrieNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                final int index = indexOf(key.charAt(i));
+                if (node.children[index] == null) {
+                    node.children[index] = new TrieNode();
+                }
+                node = node.children[index];
+            }
+            node.value = value;
+        }
+
+        String longestPrefixMatch(String value) {
+            if (value == null) {
+                value = "";
+            }
+            String result = null;
+            TrieNode node = this;
+            int last = SKIPPED;
+            for (int i = 0; i < value.length(); i++) {
+                final int index = indexOf(value.charAt(i));
+                if (index == SKIPPED) {
+                    continue;
+                } else if (index == NON_ASCII) {
+                    return longestPrefixMatch(normalize(value));
+                }
+                // A prefix ending with a digit does not match when the value continues with another digit.
+                if (node.value != null && !(isDigit(last) && isDigit(index))) {
+                    result = node.value;
+                }
+                node = node.children[index];
+                if (node == null) {
+                    return result;
+                }
+                last = index;
+            }
+            return node.value != null ? node.value : result;
+        }
+
+        String exactMatch(String value) {
+            if (value == null) {
+                value = "";
+            }
+            TrieNode node = this;
+            for (int i = 0; i < value.length(); i++) {
+                final int index = indexOf(value.charAt(i));
+                if (index == SKIPPED) {
+                    continue;
+                } else if (index == NON_ASCII) {
+                    return exactMatch(normalize(value));
+                }
+                node = node.children[index];
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A streaming parser of the {@code os-release} files, which reads the bytes of the file without decoding the lines,
+ * and only allocates strings for the values that are kept.
+ * <p>
+ * The file is a list of {@code KEY=VALUE} assignments, one per line, with the shell quoting rules: a value may be
+ * made of unquoted, single-quoted and double-quoted parts. Outside of quotes, a backslash escapes the next
+ * character. Within single quotes, all characters are literal. Within double quotes, a backslash only escapes
+ * {@code $}, {@code "}, {@code \} and {@code `}, and is kept otherwise. A backslash followed by a newline continues
+ * the line, except within single quotes, where the newline is part of the value. Empty lines, comment lines
+ * starting with {@code #}, and lines which are not assignments are ignored, as well as the text following an
+ * unquoted blank in a value. When a key is assigned several times, the last value wins.
+ *
+ * @see <a href="https://www.freedesktop.org/software/systemd/man/latest/os-release.html">os-release</a>
+ */
+final class OsReleaseParser {
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int LINE_START = 0;
+    private static final int KEY = 1;
+    private static final int VALUE = 2;
+    private static final int SINGLE_QUOTED = 3;
+    private static final int DOUBLE_QUOTED = 4;
+    private static final int SKIP = 5;
+
+    private final byte[][] keys;
+    private final String[] keyNames;
+    private byte[] key = new byte[32];
+    private int keyLength;
+    private byte[] value = new byte[128];
+    private int valueLength;
+
+    /**
+     * Creates a parser.
+     *
+     * @param keys the keys to keep, or {@code null} to keep all keys.
+     */
+    OsReleaseParser(Collection<String> keys) {
+        if (keys == null) {
+            this.keys = null;
+            this.keyNames = null;
+        } else {
+            this.keyNames = keys.toArray(new String[0]);
+            this.keys = new byte[keyNames.length][];
+            for (int i = 0; i < keyNames.length; i++) {
+                this.keys[i] = keyNames[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    /**
+     * Parses an {@code os-release} file.
+     *
+     * @param in the content of the file, which is not closed.
+     * @return the values of the kept keys, in the order of the file.
+     */
+    Map<String, String> parse(InputStream in) throws IOException {
+        final Map<String, String> result = new LinkedHashMap<>();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int state = LINE_START;
+        boolean escaped = false;
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            for (int i = 0; i < n; i++) {
+                final byte b = buffer[i];
+                switch (state) {
+                    case LINE_START:
+                        keyLength = 0;
+                        valueLength = 0;
+                        if (isKeyStart(b)) {
+                            appendKey(b);
+                            state = KEY;
+                        } else if (b != '\n' && b != ' ' && b != '\t' && b != '\r') {
+                            // A comment or an invalid line.
+                            state = SKIP;
+                        }
+                        break;
+                    case KEY:
+                        if (b == '=') {
+                            state = VALUE;
+                        } else if (isKeyStart(b) || (b >= '0' && b <= '9')) {
+                            appendKey(b);
+                        } else {
+                            state = b == '\n' ? LINE_START : SKIP;
+                        }
+                        break;
+                    case VALUE:
+                        if (escaped) {
+                            escaped = false;
+                            if (b != '\n') {
+                                appendValue(b);
+                            }
+                        } else if (b == '\\') {
+                            escaped = true;
+                        } else if (b == '\'') {
+                            state = SINGLE_QUOTED;
+                        } else if (b == '"') {
+                            state = DOUBLE_QUOTED;
+                        } else if (b == '\n') {
+                            keep(result);
+                            state = LINE_START;
+                        } else if (b == ' ' || b == '\t' || b == '\r') {
+                            keep(result);
+                            state = SKIP;
+                        } else {
+                            appendValue(b);
+                        }
+                        break;
+                    case SINGLE_QUOTED:
+                        if (b == '\'') {
+                            state = VALUE;
+                        } else {
+                            appendValue(b);
+                        }
+                        break;
+                    case DOUBLE_QUOTED:
+                        if (escaped) {
+                            escaped = false;
+                            if (b != '$' && b != '"' && b != '\\' && b != '`' && b != '\n') {
+                                appendValue((byte) '\\');
+                            }
+                            if (b != '\n') {
+                                appendValue(b);
+                            }
+                        } else if (b == '\\') {
+                            escaped = true;
+                        } else if (b == '"') {
+                            state = VALUE;
+                        } else {
+                            appendValue(b);
+                        }
+                        break;
+                    default:
+                        if (b == '\n') {
+                            state = LINE_START;
+                        }
+                        break;
+                }
+            }
+        }
+        if (state == VALUE) {
+            // The last line has no trailing newline. Unterminated quotes are ignored, like invalid lines.
+            keep(result);
+        }
+        return result;
+    }
+
+    private static boolean isKeyStart(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || b == '_';
+    }
+
+    private void appendKey(byte b) {
+        if (keyLength == key.length) {
+            key = Arrays.copyOf(key, keyLength * 2);
+        }
+        key[keyLength++] = b;
+    }
+
+    private void appendValue(byte b) {
+        if (valueLength == value.length) {
+            value = Arrays.copyOf(value, valueLength * 2);
+        }
+        value[valueLength++] = b;
+    }
+
+    /**
+     * Keeps the value of the current assignment, if its key is kept.
+     */
+    private void keep(Map<String, String> result) {
+        final String name = getKeptKey();
+        if (name != null) {
+            result.put(name, new String(value, 0, valueLength, StandardCharsets.UTF_8));
+        }
+    }
+
+    private String getKeptKey() {
+        if (keys == null) {
+            return new String(key, 0, keyLength, StandardCharsets.US_ASCII);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (Arrays.equals(keys[i], 0, keys[i].length, key, 0, keyLength)) {
+                return keyNames[i];
+            }
+        }
+        return null;
+    }
+}
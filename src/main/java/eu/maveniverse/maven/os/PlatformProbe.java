@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects an optional group of platform properties, enabled by setting the {@code os.detection.<group>} system
+ * property to {@code true}. Probes read the platform through the {@link FileOperationProvider} of the detector, so
+ * that they can be tested with fixture files, and skip the properties they cannot detect.
+ */
+abstract class PlatformProbe {
+    static final String GROUP_PROPERTY_PREFIX = "os.detection.";
+
+    private final String groupProperty;
+    private final String[] propertyPrefixes;
+
+    /**
+     * @param group the name of the group, which makes up the {@code os.detection.<group>} property.
+     * @param propertyPrefixes the prefixes of the properties detected by this probe.
+     */
+    PlatformProbe(String group, String... propertyPrefixes) {
+        this.groupProperty = GROUP_PROPERTY_PREFIX + group;
+        this.propertyPrefixes = propertyPrefixes;
+    }
+
+    /**
+     * Returns the system property enabling this probe.
+     */
+    String getGroupProperty() {
+        return groupProperty;
+    }
+
+    /**
+     * Returns whether this probe is enabled, by default by its {@code os.detection.<group>} property.
+     */
+    boolean isEnabled(SystemPropertyOperationProvider systemProperties) {
+        return Boolean.parseBoolean(systemProperties.getSystemProperty(groupProperty));
+    }
+
+    /**
+     * Returns whether the property with the given name is detected by this probe.
+     */
+    boolean isDetected(String name) {
+        for (String prefix : propertyPrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Detects the properties of this probe.
+     *
+     * @param files the file operations to read the platform with.
+     * @param detected the properties detected so far, to add the properties of this probe to.
+     */
+    abstract void detect(FileOperationProvider files, Map<String, String> detected);
+
+    /**
+     * Reads the lines of a file, or returns {@code null} if it cannot be read.
+     */
+    static List<String> readLines(FileOperationProvider files, String fileName) {
+        try (InputStream in = files.readFile(fileName);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            final List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the first line of a file, trimmed, or returns {@code null} if it cannot be read or is empty.
+     */
+    static String readFirstLine(FileOperationProvider files, String fileName) {
+        final List<String> lines = readLines(files, fileName);
+        if (lines == null || lines.isEmpty()) {
+            return null;
+        }
+        final String line = lines.get(0).trim();
+        return line.isEmpty() ? null : line;
+    }
+
+    /**
+     * Reads at most the given number of bytes of a file, or returns {@code null} if it cannot be read.
+     */
+    static byte[] readBytes(FileOperationProvider files, String fileName, int maxLength) {
+        try (InputStream in = files.readFile(fileName)) {
+            return in.readNBytes(maxLength);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a long, or returns {@code null} if the value is not a number.
+     */
+    static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
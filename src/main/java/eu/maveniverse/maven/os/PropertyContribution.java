@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Records whether {@link DetectPropertyContributor} has provided the properties, so that the Maven 3 extension does
+ * not interpolate the projects again. Both get the same instance, as a singleton of the extension, so that the
+ * coordination stays internal instead of being visible in the user properties of the session.
+ */
+@Named
+@Singleton
+public class PropertyContribution {
+    private volatile boolean contributed;
+
+    void markContributed() {
+        contributed = true;
+    }
+
+    boolean isContributed() {
+        return contributed;
+    }
+}
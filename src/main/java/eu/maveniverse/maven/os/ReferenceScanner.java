@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.model.Resource;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Looks for references to properties in the models of projects and of all their profiles: in their properties, the
+ * coordinates of their dependencies, managed dependencies, extensions and plugins, the configuration of their plugins
+ * and report plugins, and their build settings, i.e. the final name, directories, filters and resources.
+ */
+final class ReferenceScanner {
+    private final String reference;
+    private final Set<ModelBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ReferenceScanner(String propertyPrefix) {
+        this.reference = "${" + propertyPrefix;
+    }
+
+    /**
+     * Checks whether any of the projects references a property starting with the given prefix.
+     *
+     * @param projects the projects, may be {@code null}.
+     * @param propertyPrefix the prefix of the property names, e.g. {@code os.detected.release}.
+     * @return whether a reference has been found.
+     */
+    static boolean isReferenced(Collection<MavenProject> projects, String propertyPrefix) {
+        if (projects == null) {
+            return false;
+        }
+        final ReferenceScanner scanner = new ReferenceScanner(propertyPrefix);
+        for (MavenProject p : projects) {
+            if (scanner.references(p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean references(MavenProject p) {
+        if (p == null) {
+            return false;
+        }
+        if (references(p.getParent()) || references(p.getModel())) {
+            return true;
+        }
+        for (Profile profile : p.getActiveProfiles()) {
+            if (references(profile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean references(ModelBase model) {
+        if (model == null || !visited.add(model)) {
+            return false;
+        }
+        for (Object value : model.getProperties().values()) {
+            if (references(value)) {
+                return true;
+            }
+        }
+        final DependencyManagement depMgmt = model.getDependencyManagement();
+        if (references(model.getDependencies())
+                || (depMgmt != null && references(depMgmt.getDependencies()))
+                || references(model.getReporting())) {
+            return true;
+        }
+        if (model instanceof Profile) {
+            return references(((Profile) model).getBuild());
+        }
+        final Model m = (Model) model;
+        if (references(m.getBuild())) {
+            return true;
+        }
+        // The inactive profiles too, as their activation may differ between the projects.
+        for (Profile profile : m.getProfiles()) {
+            if (references(profile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean references(BuildBase build) {
+        if (build == null) {
+            return false;
+        }
+        if (references(build.getFinalName())
+                || references(build.getDirectory())
+                || references(build.getDefaultGoal())
+                || references(build.getFilters())
+                || references(build.getResources())
+                || references(build.getTestResources())
+                || references(build.getPlugins())) {
+            return true;
+        }
+        if (build.getPluginManagement() != null && references(build.getPluginManagement().getPlugins())) {
+            return true;
+        }
+        if (build instanceof Build) {
+            final Build b = (Build) build;
+            return references(b.getSourceDirectory())
+                    || references(b.getScriptSourceDirectory())
+                    || references(b.getTestSourceDirectory())
+                    || references(b.getOutputDirectory())
+                    || references(b.getTestOutputDirectory())
+                    || references(b.getExtensions());
+        }
+        return false;
+    }
+
+    private boolean references(Reporting reporting) {
+        return reporting != null && (references(reporting.getOutputDirectory()) || references(reporting.getPlugins()));
+    }
+
+    private boolean references(Iterable<?> elements) {
+        for (Object element : elements) {
+            if (element instanceof Dependency) {
+                final Dependency d = (Dependency) element;
+                if (references(d.getGroupId())
+                        || references(d.getArtifactId())
+                        || references(d.getVersion())
+                        || references(d.getClassifier())
+                        || references(d.getSystemPath())) {
+                    return true;
+                }
+                for (Exclusion e : d.getExclusions()) {
+                    if (references(e.getGroupId()) || references(e.getArtifactId())) {
+                        return true;
+                    }
+                }
+            } else if (element instanceof Plugin) {
+                final Plugin plugin = (Plugin) element;
+                if (references(plugin.getGroupId())
+                        || references(plugin.getArtifactId())
+                        || references(plugin.getVersion())
+                        || references(plugin.getConfiguration())
+                        || references(plugin.getDependencies())) {
+                    return true;
+                }
+                for (PluginExecution execution : plugin.getExecutions()) {
+                    if (references(execution.getConfiguration())) {
+                        return true;
+                    }
+                }
+            } else if (element instanceof Resource) {
+                final Resource resource = (Resource) element;
+                if (references(resource.getDirectory())
+                        || references(resource.getTargetPath())
+                        || references(resource.getIncludes())
+                        || references(resource.getExcludes())) {
+                    return true;
+                }
+            } else if (element instanceof ReportPlugin) {
+                final ReportPlugin plugin = (ReportPlugin) element;
+                if (references(plugin.getVersion()) || references(plugin.getConfiguration())) {
+                    return true;
+                }
+            } else if (element instanceof Extension) {
+                final Extension extension = (Extension) element;
+                if (references(extension.getGroupId())
+                        || references(extension.getArtifactId())
+                        || references(extension.getVersion())) {
+                    return true;
+                }
+            } else if (references(element)) {
+                // Filters, includes and excludes are plain strings.
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean references(Object value) {
+        // Plugin configurations are DOMs, whose string representation is their XML.
+        return value != null && value.toString().contains(reference);
+    }
+}
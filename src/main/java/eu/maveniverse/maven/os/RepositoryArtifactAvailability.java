@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactType;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+
+/**
+ * Resolves artifacts with the repository system of the session. This is done in a separate class, so that the
+ * extension is not impacted by the case where the runtime does not have Aether.
+ */
+final class RepositoryArtifactAvailability implements ArtifactAvailability {
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession repositorySession;
+
+    RepositoryArtifactAvailability(RepositorySystem repositorySystem, RepositorySystemSession repositorySession) {
+        this.repositorySystem = repositorySystem;
+        this.repositorySession = repositorySession;
+    }
+
+    /**
+     * Looks up the repository system of the session, which is only done when artifacts need to be resolved.
+     */
+    @SuppressWarnings("deprecation")
+    static ArtifactAvailability create(MavenSession session) throws ComponentLookupException {
+        return new RepositoryArtifactAvailability(
+                session.getContainer().lookup(RepositorySystem.class), session.getRepositorySession());
+    }
+
+    @Override
+    public Status resolve(MavenProject project, Dependency dependency, boolean pluginDependency) {
+        final ArtifactType type = repositorySession.getArtifactTypeRegistry().get(dependency.getType());
+        final DefaultArtifact artifact = new DefaultArtifact(
+                dependency.getGroupId(),
+                dependency.getArtifactId(),
+                dependency.getClassifier(),
+                type != null ? type.getExtension() : dependency.getType(),
+                dependency.getVersion());
+        try {
+            repositorySystem.resolveArtifact(
+                    repositorySession,
+                    new ArtifactRequest(
+                            artifact,
+                            pluginDependency
+                                    ? project.getRemotePluginRepositories()
+                                    : project.getRemoteProjectRepositories(),
+                            null));
+            return Status.AVAILABLE;
+        } catch (ArtifactResolutionException e) {
+            return getStatus(e);
+        }
+    }
+
+    /**
+     * Returns whether the artifact is not found in any repository, or could not be resolved for another reason,
+     * e.g. a transfer error, an authentication failure, or a repository which can not be accessed offline.
+     */
+    static Status getStatus(ArtifactResolutionException e) {
+        boolean notFound = false;
+        for (ArtifactResult result : e.getResults()) {
+            for (Exception exception : result.getExceptions()) {
+                if (!(exception instanceof ArtifactNotFoundException)) {
+                    return Status.FAILED;
+                }
+                notFound = true;
+            }
+        }
+        return notFound ? Status.NOT_FOUND : Status.FAILED;
+    }
+}
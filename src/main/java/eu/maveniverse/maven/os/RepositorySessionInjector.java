@@ -1,56 +1,161 @@
 package eu.maveniverse.maven.os;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import org.apache.maven.execution.MavenSession;
 import org.codehaus.plexus.logging.Logger;
 
 final class RepositorySessionInjector {
-    @SuppressWarnings("unchecked")
+
+    /**
+     * The accessors of the repository session classes, resolved once per class.
+     */
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<Accessors>() {
+        @Override
+        protected Accessors computeValue(Class<?> type) {
+            return new Accessors(type);
+        }
+    };
+
     static void injectRepositorySession(Logger logger, MavenSession session, Map<String, String> dict) {
-        // Inject repository session properties.
+        final Object event = Instrumentation.beginRepositorySessionInjection();
+        boolean injected = false;
         try {
-            Map<String, String> repoSessionProps;
             // Due to repackaging of Aether in Maven 3.1, session.getRepositorySession()
             // will return either org.eclipse.aether.RepositorySystemSession (Maven 3.1+)
             // or org.sonatype.aether.RepositorySystemSession (Maven 3.0.x)
             // depending on the version of Maven that executes the project.
             // Both interfaces have getSystemProperties() accessor method that returns Map<String, String>.
             final Object repoSession = session.getRepositorySession();
-            final Class<?> cls = repoSession.getClass();
-            final Method getSystemPropertiesMethod = cls.getMethod("getSystemProperties");
-            repoSessionProps = (Map<String, String>) getSystemPropertiesMethod.invoke(repoSession);
+            injected = ACCESSORS.get(repoSession.getClass()).inject(repoSession, dict);
+        } catch (Throwable t) {
+            logger.warn("Failed to inject repository session properties.", t);
+        } finally {
+            Instrumentation.endRepositorySessionInjection(event, dict.size(), injected);
+        }
+    }
+
+    /**
+     * The handles used to inject the properties into a repository session class.
+     */
+    private static final class Accessors {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Map.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Map.class);
+
+        private final MethodHandle getSystemProperties;
+        private final MethodHandle getSystemPropertiesField;
+        private final MethodHandle setSystemPropertiesField;
+        private final MethodHandle setSystemPropertiesViewField;
+        private final Throwable failure;
+
+        Accessors(Class<?> cls) {
+            MethodHandle getter = null;
+            MethodHandle fieldGetter = null;
+            MethodHandle fieldSetter = null;
+            MethodHandle viewSetter = null;
+            Throwable failure = null;
             try {
-                repoSessionProps.putAll(dict);
-            } catch (Exception ex) {
-                // Time to hack: RepositorySystemSession.getSystemProperties() returned an immutable map.
+                getter = MethodHandles.publicLookup()
+                        .unreflect(cls.getMethod("getSystemProperties"))
+                        .asType(GETTER_TYPE);
+            } catch (Throwable t) {
+                failure = t;
+            }
+            try {
+                // Time to hack: RepositorySystemSession.getSystemProperties() may return an immutable map.
                 final Field f = cls.getDeclaredField("systemProperties");
                 f.setAccessible(true);
-                repoSessionProps = (Map<String, String>) f.get(repoSession);
-                try {
-                    repoSessionProps.putAll(dict);
-                } catch (Exception ex2) {
-                    // In Maven 4, DefaultCloseableSession uses an immutable map
-                    // but DefaultRepositorySystemSession may also have an immutable map
-                    repoSessionProps = new HashMap<>(repoSessionProps);
-                    repoSessionProps.putAll(dict);
-                    repoSessionProps = Collections.unmodifiableMap(repoSessionProps);
-                    f.set(repoSession, repoSessionProps);
-                    try {
-                        // This is to support DefaultRepositorySystemSession
-                        final Field fv = cls.getDeclaredField("systemPropertiesView");
-                        fv.setAccessible(true);
-                        fv.set(repoSession, repoSessionProps);
-                    } catch (Exception ex3) {
-                        // ignore
-                    }
+                fieldGetter = MethodHandles.lookup().unreflectGetter(f).asType(GETTER_TYPE);
+                // The field may be final, which rules out a VarHandle.
+                fieldSetter = MethodHandles.lookup().unreflectSetter(f).asType(SETTER_TYPE);
+                // This is to support DefaultRepositorySystemSession
+                viewSetter = findSetter(cls, "systemPropertiesView");
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
                 }
+                fieldGetter = null;
+                fieldSetter = null;
+            }
+            this.getSystemProperties = getter;
+            this.getSystemPropertiesField = fieldGetter;
+            this.setSystemPropertiesField = fieldSetter;
+            this.setSystemPropertiesViewField = viewSetter;
+            this.failure = failure;
+        }
+
+        private static MethodHandle findSetter(Class<?> cls, String name) {
+            try {
+                final Field f = cls.getDeclaredField(name);
+                f.setAccessible(true);
+                return MethodHandles.lookup().unreflectSetter(f).asType(SETTER_TYPE);
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns {@code false} if the properties were already present in the repository session.
+         */
+        @SuppressWarnings("unchecked")
+        boolean inject(Object repoSession, Map<String, String> dict) throws Throwable {
+            if (getSystemProperties == null) {
+                throw failure;
+            }
+            final Map<String, String> repoSessionProps =
+                    (Map<String, String>) getSystemProperties.invokeExact(repoSession);
+            if (containsAll(repoSessionProps, dict)) {
+                return false;
+            }
+            if (putAll(repoSessionProps, dict)) {
+                return true;
+            }
+            if (getSystemPropertiesField == null) {
+                throw failure;
+            }
+            final Map<String, String> fieldProps =
+                    (Map<String, String>) getSystemPropertiesField.invokeExact(repoSession);
+            if (fieldProps != repoSessionProps && putAll(fieldProps, dict)) {
+                return true;
+            }
+            // In Maven 4, DefaultCloseableSession uses an immutable map
+            // but DefaultRepositorySystemSession may also have an immutable map
+            final Map<String, String> merged = new HashMap<>((fieldProps.size() + dict.size()) * 4 / 3 + 1);
+            merged.putAll(fieldProps);
+            merged.putAll(dict);
+            final Map<String, String> immutable = Collections.unmodifiableMap(merged);
+            setSystemPropertiesField.invokeExact(repoSession, immutable);
+            if (setSystemPropertiesViewField != null) {
+                setSystemPropertiesViewField.invokeExact(repoSession, immutable);
+            }
+            return true;
+        }
+
+        /**
+         * Checks whether the properties have already been injected, e.g. by a previous phase of the build.
+         */
+        private static boolean containsAll(Map<String, String> props, Map<String, String> dict) {
+            for (Map.Entry<String, String> entry : dict.entrySet()) {
+                if (!Objects.equals(entry.getValue(), props.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean putAll(Map<String, String> props, Map<String, String> dict) {
+            try {
+                props.putAll(dict);
+                return true;
+            } catch (RuntimeException ex) {
+                return false;
             }
-        } catch (Throwable t) {
-            logger.warn("Failed to inject repository session properties.", t);
         }
     }
 
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detects the CPU and memory resources available to the build on Linux, taking the limits of the control groups
+ * (cgroup v1 and v2) of the process into account, as containers usually run on larger hosts.
+ */
+final class ResourceProbe extends PlatformProbe {
+    static final String GROUP = "resources";
+
+    static final String DETECTED_CPU = "os.detected.cpu";
+    static final String DETECTED_CPU_LOGICAL = DETECTED_CPU + ".logical";
+    static final String DETECTED_CPU_PHYSICAL = DETECTED_CPU + ".physical";
+    static final String DETECTED_CPU_CPUSET = DETECTED_CPU + ".cpuset";
+    static final String DETECTED_CPU_QUOTA = DETECTED_CPU + ".quota";
+    static final String DETECTED_CPU_EFFECTIVE = DETECTED_CPU + ".effective";
+    static final String DETECTED_MEMORY = "os.detected.memory";
+    static final String DETECTED_MEMORY_TOTAL = DETECTED_MEMORY + ".total";
+    static final String DETECTED_MEMORY_LIMIT = DETECTED_MEMORY + ".limit";
+    static final String DETECTED_MEMORY_EFFECTIVE = DETECTED_MEMORY + ".effective";
+
+    private static final String CPUINFO_FILE = "/proc/cpuinfo";
+    private static final String MEMINFO_FILE = "/proc/meminfo";
+    private static final String CGROUP_FILE = "/proc/self/cgroup";
+    private static final String CGROUP_ROOT = "/sys/fs/cgroup";
+    private static final long UNLIMITED_V1_MEMORY = 1L << 62;
+
+    ResourceProbe() {
+        super(GROUP, DETECTED_CPU + ".", DETECTED_MEMORY + ".");
+    }
+
+    @Override
+    void detect(FileOperationProvider files, Map<String, String> detected) {
+        if (!"linux".equals(detected.get(Detector.DETECTED_NAME))) {
+            return;
+        }
+        final Cgroups cgroups = new Cgroups(readLines(files, CGROUP_FILE));
+        detectCpu(files, cgroups, detected);
+        detectMemory(files, cgroups, detected);
+    }
+
+    private static void detectCpu(FileOperationProvider files, Cgroups cgroups, Map<String, String> detected) {
+        long effective = Long.MAX_VALUE;
+
+        // Count the logical processors and the distinct physical cores.
+        final List<String> cpuinfo = readLines(files, CPUINFO_FILE);
+        if (cpuinfo != null) {
+            int logical = 0;
+            final Set<String> cores = new HashSet<>();
+            String physicalId = null;
+            for (String line : cpuinfo) {
+                final int colon = line.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                final String key = line.substring(0, colon).trim();
+                final String value = line.substring(colon + 1).trim();
+                if ("processor".equals(key)) {
+                    logical++;
+                    physicalId = null;
+                } else if ("physical id".equals(key)) {
+                    physicalId = value;
+                } else if ("core id".equals(key)) {
+                    cores.add(physicalId + ":" + value);
+                }
+            }
+            if (logical > 0) {
+                detected.put(DETECTED_CPU_LOGICAL, String.valueOf(logical));
+                effective = logical;
+            }
+            if (!cores.isEmpty()) {
+                detected.put(DETECTED_CPU_PHYSICAL, String.valueOf(cores.size()));
+            }
+        }
+
+        // The CPUs the process may run on, from the closest cgroup defining them.
+        String cpus = null;
+        for (String dir : cgroups.getV2Dirs()) {
+            cpus = readFirstLine(files, dir + "/cpuset.cpus.effective");
+            if (cpus != null) {
+                break;
+            }
+        }
+        if (cpus == null) {
+            for (String dir : cgroups.getV1Dirs("cpuset")) {
+                cpus = readFirstLine(files, dir + "/cpuset.cpus");
+                if (cpus != null) {
+                    break;
+                }
+            }
+        }
+        final int cpuset = cpus != null ? countCpus(cpus) : 0;
+        if (cpuset > 0) {
+            detected.put(DETECTED_CPU_CPUSET, String.valueOf(cpuset));
+            effective = Math.min(effective, cpuset);
+        }
+
+        // The CPU bandwidth quota, which is the lowest quota of the cgroup and its ancestors.
+        BigDecimal quota = null;
+        for (String dir : cgroups.getV2Dirs()) {
+            final String max = readFirstLine(files, dir + "/cpu.max");
+            if (max != null) {
+                final String[] parts = max.split("\\s+");
+                quota = min(quota, parts.length == 2 ? toCpus(parseLong(parts[0]), parseLong(parts[1])) : null);
+            }
+        }
+        for (String dir : cgroups.getV1Dirs("cpu")) {
+            quota = min(
+                    quota,
+                    toCpus(
+                            parseLong(readFirstLine(files, dir + "/cpu.cfs_quota_us")),
+                            parseLong(readFirstLine(files, dir + "/cpu.cfs_period_us"))));
+        }
+        if (quota != null) {
+            detected.put(DETECTED_CPU_QUOTA, quota.toPlainString());
+            effective = Math.min(effective, Math.max(1, quota.setScale(0, RoundingMode.CEILING).longValue()));
+        }
+
+        if (effective != Long.MAX_VALUE) {
+            detected.put(DETECTED_CPU_EFFECTIVE, String.valueOf(effective));
+        }
+    }
+
+    private static void detectMemory(FileOperationProvider files, Cgroups cgroups, Map<String, String> detected) {
+        long effective = Long.MAX_VALUE;
+
+        final List<String> meminfo = readLines(files, MEMINFO_FILE);
+        if (meminfo != null) {
+            for (String line : meminfo) {
+                if (line.startsWith("MemTotal:")) {
+                    final String[] parts = line.substring("MemTotal:".length()).trim().split("\\s+");
+                    final Long total = parseLong(parts[0]);
+                    if (total != null) {
+                        // The value is in kibibytes, whatever the unit says.
+                        effective = total * 1024;
+                        detected.put(DETECTED_MEMORY_TOTAL, String.valueOf(effective));
+                    }
+                    break;
+                }
+            }
+        }
+
+        // The memory limit, which is the lowest limit of the cgroup and its ancestors. Unlimited cgroups v1 report
+        // a huge number instead of "max", which is ignored.
+        long limit = Long.MAX_VALUE;
+        for (String dir : cgroups.getV2Dirs()) {
+            final Long max = parseLong(readFirstLine(files, dir + "/memory.max"));
+            if (max != null && max > 0) {
+                limit = Math.min(limit, max);
+            }
+        }
+        for (String dir : cgroups.getV1Dirs("memory")) {
+            final Long max = parseLong(readFirstLine(files, dir + "/memory.limit_in_bytes"));
+            if (max != null && max > 0 && max < UNLIMITED_V1_MEMORY) {
+                limit = Math.min(limit, max);
+            }
+        }
+        if (limit < effective) {
+            detected.put(DETECTED_MEMORY_LIMIT, String.valueOf(limit));
+            effective = limit;
+        }
+
+        if (effective != Long.MAX_VALUE) {
+            detected.put(DETECTED_MEMORY_EFFECTIVE, String.valueOf(effective));
+        }
+    }
+
+    /**
+     * Converts a quota and a period to a number of CPUs, or {@code null} if there is no quota.
+     */
+    private static BigDecimal toCpus(Long quota, Long period) {
+        if (quota == null || period == null || quota <= 0 || period <= 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(quota)
+                .divide(BigDecimal.valueOf(period), 2, RoundingMode.HALF_UP)
+                .stripTrailingZeros();
+    }
+
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : a.min(b);
+    }
+
+    /**
+     * Counts the CPUs of a list such as {@code 0-3,8,10-11}, or returns {@code 0} if the list is malformed.
+     */
+    static int countCpus(String list) {
+        int count = 0;
+        for (String range : list.split(",")) {
+            final int dash = range.indexOf('-');
+            final Long from = parseLong(dash < 0 ? range : range.substring(0, dash));
+            final Long to = dash < 0 ? from : parseLong(range.substring(dash + 1));
+            if (from == null || to == null || to < from) {
+                return 0;
+            }
+            count += (int) (to - from + 1);
+        }
+        return count;
+    }
+
+    /**
+     * The cgroups of the process, as listed in {@code /proc/self/cgroup}.
+     */
+    private static final class Cgroups {
+        private final List<String> lines;
+
+        Cgroups(List<String> lines) {
+            this.lines = lines;
+        }
+
+        /**
+         * Returns the directories of the cgroup v2 of the process and of its ancestors, from the closest.
+         */
+        List<String> getV2Dirs() {
+            final List<String> dirs = new ArrayList<>();
+            if (lines != null) {
+                for (String line : lines) {
+                    if (line.startsWith("0::")) {
+                        addDirs(dirs, CGROUP_ROOT, line.substring("0::".length()));
+                    }
+                }
+            }
+            return dirs;
+        }
+
+        /**
+         * Returns the directories of the cgroup v1 of the process for the given controller and of its ancestors,
+         * from the closest.
+         */
+        List<String> getV1Dirs(String controller) {
+            final List<String> dirs = new ArrayList<>();
+            if (lines != null) {
+                for (String line : lines) {
+                    final String[] parts = line.split(":", 3);
+                    if (parts.length == 3 && !parts[1].isEmpty()) {
+                        for (String c : parts[1].split(",")) {
+                            if (c.equals(controller)) {
+                                addDirs(dirs, CGROUP_ROOT + "/" + parts[1], parts[2]);
+                            }
+                        }
+                    }
+                }
+            }
+            return dirs;
+        }
+
+        /**
+         * Adds the directories of a cgroup path and of its ancestors under a mount point. In a container with its
+         * own cgroup namespace, the path is {@code /} and the mount point is the cgroup of the container.
+         */
+        private static void addDirs(List<String> dirs, String mount, String path) {
+            String p = path.trim();
+            while (p.endsWith("/")) {
+                p = p.substring(0, p.length() - 1);
+            }
+            while (!p.isEmpty()) {
+                dirs.add(mount + p);
+                p = p.substring(0, Math.max(0, p.lastIndexOf('/')));
+            }
+            dirs.add(mount);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Detection results shared by the extension, the mojo and the property contributor, so that the detection runs
+ * once per JVM for each distinct set of inputs, and its full report is only logged by the first detection.
+ * <p>
+ * In a long-lived JVM, such as a Maven daemon or embedder, the results are kept across sessions until one of the
+ * files read by the detection changes, as reported by a {@link FileChangeWatcher}. If the files can not be watched,
+ * the stamps of the files are compared instead, and the results are not reused at all if the files can not be
+ * stamped either.
+ * <p>
+ * The optional groups of properties, such as the resource limits of a container, are detected again whenever a
+ * result is reused, as they may change at any time.
+ * <p>
+ * A detection can also be started ahead of its first use with {@link #detectEarly(Function, boolean)}, so that
+ * reading the release files overlaps with the startup of Maven, see {@link DetectEventSpy}.
+ */
+final class SharedDetection {
+    private static final ConcurrentMap<String, DetectionResult> RESULTS = new ConcurrentHashMap<>();
+    private static final FileChangeWatcher WATCHER = new FileChangeWatcher();
+    private static final AtomicReference<String> STAMPS = new AtomicReference<>();
+
+    /**
+     * Detects the operating system and CPU architecture, or reuses the result of a previous detection with the
+     * same inputs, and publishes the detected properties.
+     *
+     * @param detector the detector to use if there is no previous result.
+     * @param props the properties to set the detected properties to.
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier.
+     * @return the detection result.
+     */
+    static DetectionResult detect(Detector detector, Properties props, List<String> classifierWithLikes) {
+        return detect(detector, props, classifierWithLikes, true);
+    }
+
+    /**
+     * Detects the operating system and CPU architecture, or reuses the result of a previous detection with the
+     * same inputs, and publishes the detected properties.
+     *
+     * @param detector the detector to use if there is no previous result.
+     * @param props the properties to set the detected properties to.
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier.
+     * @param detectRelease whether to detect the {@code os.detected.release*} properties.
+     * @return the detection result.
+     */
+    static DetectionResult detect(
+            Detector detector, Properties props, List<String> classifierWithLikes, boolean detectRelease) {
+        return detect(detector, props, classifierWithLikes, detectRelease, null);
+    }
+
+    /**
+     * Detects the operating system and CPU architecture, or reuses the result of a previous detection with the
+     * same inputs, and publishes the detected properties.
+     *
+     * @param detector the detector to use if there is no previous result.
+     * @param props the properties to set the detected properties to.
+     * @param classifierWithLikes the os "likes" to be included in the generated classifier.
+     * @param detectRelease whether to detect the {@code os.detected.release*} properties.
+     * @param early the detection started by {@link #detectEarly(Function, boolean)}, awaited and used if it has
+     *        the same inputs and none of the files it read has changed since, or {@code null}.
+     * @return the detection result.
+     * @throws DetectionException if the detection fails, including the early one.
+     */
+    static DetectionResult detect(
+            Detector detector,
+            Properties props,
+            List<String> classifierWithLikes,
+            boolean detectRelease,
+            EarlyDetection early) {
+        final boolean changed = invalidateIfChanged(detector);
+        final boolean[] detected = new boolean[1];
+        final DetectionResult shared =
+                RESULTS.computeIfAbsent(detector.getInputKey(classifierWithLikes, detectRelease), k -> {
+                    detected[0] = true;
+                    final DetectionResult earlyResult = early != null && !changed ? early.await(k, detector) : null;
+                    return earlyResult != null ? earlyResult : detector.detect(classifierWithLikes, detectRelease);
+                });
+        // The optional groups of properties are not watched, and are detected again when reusing a result.
+        final DetectionResult result = detected[0] ? shared : detector.refreshProbes(shared, classifierWithLikes);
+        detector.publish(props, result, detected[0]);
+        return result;
+    }
+
+    /**
+     * Discards the shared results if one of the files read by the detection has changed since the previous call.
+     * The files are watched before detecting, so that a change made while detecting is not missed.
+     *
+     * @return whether the results were discarded.
+     */
+    private static boolean invalidateIfChanged(Detector detector) {
+        final boolean changed;
+        if (WATCHER.watch(detector.getInputFiles())) {
+            changed = WATCHER.pollChanges();
+        } else {
+            final String stamps = detector.getInputStamps();
+            changed = stamps == null || !stamps.equals(STAMPS.getAndSet(stamps));
+        }
+        if (changed) {
+            RESULTS.clear();
+        }
+        return changed;
+    }
+
+    /**
+     * Starts detecting the operating system and CPU architecture on a background thread, without the "likes" and
+     * without publishing the detected properties, unless a previous detection with the same inputs exists.
+     *
+     * @param detectors creates the detector to use, given the consumer of its log messages, which are deferred
+     *        until the result is awaited.
+     * @param detectRelease whether to detect the {@code os.detected.release*} properties.
+     * @return the started detection, to be given to {@link #detect(Detector, Properties, List, boolean,
+     *         EarlyDetection)}, or {@code null} if there is a previous detection.
+     */
+    static EarlyDetection detectEarly(Function<Consumer<String>, Detector> detectors, boolean detectRelease) {
+        final EarlyDetection early = new EarlyDetection(detectors, detectRelease);
+        if (RESULTS.containsKey(early.inputKey)) {
+            return null;
+        }
+        final Thread thread = new Thread(early.task, "os-detection");
+        thread.setDaemon(true);
+        thread.start();
+        return early;
+    }
+
+    /**
+     * A detection running on a background thread, whose result is used by the first detection with the same
+     * inputs.
+     */
+    static final class EarlyDetection {
+        private final List<String> messages = new ArrayList<>();
+        private final AtomicBoolean awaited = new AtomicBoolean();
+        private final String inputKey;
+        private final FutureTask<DetectionResult> task;
+
+        private EarlyDetection(Function<Consumer<String>, Detector> detectors, boolean detectRelease) {
+            // The messages are only read once the task is done.
+            final Detector detector = detectors.apply(messages::add);
+            this.inputKey = detector.getInputKey(Collections.emptyList(), detectRelease);
+            this.task = new FutureTask<>(() -> {
+                // Watch the files before detecting, as the result is reused until one of them changes.
+                invalidateIfChanged(detector);
+                return detector.detect(Collections.emptyList(), detectRelease);
+            });
+        }
+
+        /**
+         * Waits for the result, logging the deferred messages with the given detector. Returns {@code null} if the
+         * inputs differ, if the result has already been used, or if the waiting is interrupted.
+         */
+        private DetectionResult await(String key, Detector detector) {
+            if (!inputKey.equals(key) || !awaited.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                final DetectionResult result = task.get();
+                messages.forEach(detector::log);
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                messages.forEach(detector::log);
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Discards the shared results and the stamps of the files, so that tests do not depend on each other.
+     */
+    static void reset() {
+        RESULTS.clear();
+        STAMPS.set(null);
+    }
+
+    private SharedDetection() {}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.File;
+
+/**
+ * Describes a target platform to detect the properties of, for cross-builds: the values of its {@code os.name},
+ * {@code os.arch} and {@code os.version} system properties, and snapshots of its release files.
+ */
+public class TargetPlatform {
+    private String id;
+    private String osName;
+    private String osArch;
+    private String osVersion = "";
+    private String bitness;
+    private File osRelease;
+    private File redhatRelease;
+    private String classifierWithLikes;
+
+    /**
+     * Create an empty target platform, to be configured with its setters.
+     */
+    public TargetPlatform() {}
+
+    /**
+     * Create a target platform.
+     *
+     * @param osName the value of the {@code os.name} system property of the platform.
+     * @param osArch the value of the {@code os.arch} system property of the platform.
+     */
+    public TargetPlatform(String osName, String osArch) {
+        this.osName = osName;
+        this.osArch = osArch;
+    }
+
+    /**
+     * Returns the identifier of the platform in the {@code os.target.<id>.*} properties, which defaults to the
+     * detected classifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOsName() {
+        return osName;
+    }
+
+    public void setOsName(String osName) {
+        this.osName = osName;
+    }
+
+    public String getOsArch() {
+        return osArch;
+    }
+
+    public void setOsArch(String osArch) {
+        this.osArch = osArch;
+    }
+
+    public String getOsVersion() {
+        return osVersion;
+    }
+
+    public void setOsVersion(String osVersion) {
+        this.osVersion = osVersion;
+    }
+
+    /**
+     * Returns the value of the {@code sun.arch.data.model} system property of the platform, if known. Otherwise,
+     * the bitness is guessed from the architecture.
+     */
+    public String getBitness() {
+        return bitness;
+    }
+
+    public void setBitness(String bitness) {
+        this.bitness = bitness;
+    }
+
+    /**
+     * Returns a snapshot of the {@code /etc/os-release} file of the platform, if any.
+     */
+    public File getOsRelease() {
+        return osRelease;
+    }
+
+    public void setOsRelease(File osRelease) {
+        this.osRelease = osRelease;
+    }
+
+    /**
+     * Returns a snapshot of the {@code /etc/redhat-release} file of the platform, if any.
+     */
+    public File getRedhatRelease() {
+        return redhatRelease;
+    }
+
+    public void setRedhatRelease(File redhatRelease) {
+        this.redhatRelease = redhatRelease;
+    }
+
+    /**
+     * Returns the comma-separated os "likes" to be included in the classifier of the platform, if any.
+     */
+    public String getClassifierWithLikes() {
+        return classifierWithLikes;
+    }
+
+    public void setClassifierWithLikes(String classifierWithLikes) {
+        this.classifierWithLikes = classifierWithLikes;
+    }
+
+    @Override
+    public String toString() {
+        return id != null ? id : osName + '/' + osArch;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A persistent cache of the artifacts which could not be resolved, so that repeated builds do not look them up in
+ * the remote repositories again. Entries expire after {@link #TTL_MILLIS}, so that artifacts published later are
+ * eventually picked up.
+ */
+final class UnavailableArtifacts {
+    static final String DEFAULT_CACHE_FILE = "os-maven-plugin/unavailable-artifacts.properties";
+    static final long TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final Path file;
+    private final long now;
+    private final Properties entries = new Properties();
+    private boolean modified;
+
+    /**
+     * @param file the cache file, or {@code null} to only cache the artifacts in memory.
+     * @param now the current time, in milliseconds.
+     */
+    UnavailableArtifacts(Path file, long now) {
+        this.file = file;
+        this.now = now;
+        if (file != null) {
+            load(file, entries);
+        }
+    }
+
+    /**
+     * Returns whether the artifact with the given key could not be resolved recently.
+     */
+    synchronized boolean contains(String key) {
+        return !isExpired(entries.getProperty(key));
+    }
+
+    /**
+     * Records that the artifact with the given key could not be resolved.
+     */
+    synchronized void add(String key) {
+        entries.setProperty(key, String.valueOf(now));
+        modified = true;
+    }
+
+    /**
+     * Stores the cache if it has been modified, merging it with the entries stored concurrently by other builds and
+     * dropping the expired ones. Failures are ignored, as the cache is only an optimization.
+     */
+    synchronized void store() {
+        if (file == null || !modified) {
+            return;
+        }
+        final Properties merged = new Properties();
+        load(file, merged);
+        merged.putAll(entries);
+        merged.stringPropertyNames().stream()
+                .filter(key -> isExpired(merged.getProperty(key)))
+                .forEach(merged::remove);
+        try {
+            DetectionCache.write(file, merged, "os-maven-plugin unavailable artifacts");
+            modified = false;
+        } catch (IOException ignored) {
+            // Just absorb. Failing to write the cache must not fail the build.
+        }
+    }
+
+    private boolean isExpired(String timestamp) {
+        final Long time = PlatformProbe.parseLong(timestamp);
+        return time == null || now - time >= TTL_MILLIS || time > now;
+    }
+
+    private static void load(Path file, Properties props) {
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException ignored) {
+            // Missing or unreadable cache file, just resolve again.
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static eu.maveniverse.maven.os.TestProjects.classifier;
+import static eu.maveniverse.maven.os.TestProjects.project;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassifierFallbackTest {
+
+    private final Map<String, String> dict = Map.of(
+            Detector.DETECTED_NAME, "linux",
+            Detector.DETECTED_ARCH, "x86_64",
+            CpuFeatureProbe.DETECTED_ARCH_LEVEL, "v3",
+            Detector.DETECTED_CLASSIFIER, "linux-x86_64-v3-rhel");
+    private final Logger logger = new ConsoleLogger(Logger.LEVEL_DISABLED, "test");
+    private final List<String> resolved = new ArrayList<>();
+
+    @Test
+    void testGetChain() {
+        assertEquals(
+                List.of("linux-x86_64-v3-rhel", "linux-x86_64-v3", "linux-x86_64"), ClassifierFallback.getChain(dict));
+        assertEquals(
+                List.of("linux-x86_64"),
+                ClassifierFallback.getChain(Map.of(
+                        Detector.DETECTED_NAME, "linux",
+                        Detector.DETECTED_ARCH, "x86_64",
+                        Detector.DETECTED_CLASSIFIER, "linux-x86_64")));
+    }
+
+    @Test
+    void testFallback() {
+        // Arrange
+        MavenProject project = project("linux-x86_64-v3-rhel");
+        UnavailableArtifacts unavailable = new UnavailableArtifacts(null, 1000);
+
+        // Act
+        new ClassifierFallback(logger, dict, available("linux-x86_64"), unavailable).apply(project);
+
+        // Assert
+        assertEquals("linux-x86_64", classifier(project));
+        assertEquals(List.of("linux-x86_64-v3-rhel", "linux-x86_64-v3", "linux-x86_64"), resolved);
+        assertTrue(unavailable.contains("com.example:native:jar:linux-x86_64-v3:1.0"));
+    }
+
+    @Test
+    void testNegativeCache(@TempDir Path tempDir) {
+        // Arrange
+        Path file = tempDir.resolve("unavailable.properties");
+        UnavailableArtifacts unavailable = new UnavailableArtifacts(file, 1000);
+        new ClassifierFallback(logger, dict, available("linux-x86_64"), unavailable)
+                .apply(project("linux-x86_64-v3-rhel"));
+        unavailable.store();
+        resolved.clear();
+
+        // Act
+        MavenProject project = project("linux-x86_64-v3-rhel");
+        new ClassifierFallback(logger, dict, available("linux-x86_64"), new UnavailableArtifacts(file, 2000))
+                .apply(project);
+
+        // Assert
+        assertEquals("linux-x86_64", classifier(project));
+        assertEquals(List.of("linux-x86_64"), resolved);
+        assertFalse(new UnavailableArtifacts(file, 1000 + UnavailableArtifacts.TTL_MILLIS)
+                .contains("com.example:native:jar:linux-x86_64-v3:1.0"));
+    }
+
+    @Test
+    void testNoClassifierAvailable() {
+        // Arrange
+        MavenProject project = project("linux-x86_64-v3-rhel");
+
+        // Act
+        new ClassifierFallback(logger, dict, available(), new UnavailableArtifacts(null, 1000)).apply(project);
+
+        // Assert
+        assertEquals("linux-x86_64-v3-rhel", classifier(project));
+    }
+
+    @Test
+    void testTransientFailure() {
+        // Arrange
+        MavenProject project = project("linux-x86_64-v3-rhel");
+        UnavailableArtifacts unavailable = new UnavailableArtifacts(null, 1000);
+        ArtifactAvailability failing = (p, dependency, pluginDependency) -> {
+            resolved.add(dependency.getClassifier());
+            return ArtifactAvailability.Status.FAILED;
+        };
+
+        // Act
+        new ClassifierFallback(logger, dict, failing, unavailable).apply(project);
+
+        // Assert
+        assertEquals("linux-x86_64-v3-rhel", classifier(project));
+        assertEquals(List.of("linux-x86_64-v3-rhel"), resolved);
+        assertFalse(unavailable.contains("com.example:native:jar:linux-x86_64-v3-rhel:1.0"));
+    }
+
+    private ArtifactAvailability available(String... classifiers) {
+        return (project, dependency, pluginDependency) -> {
+            resolved.add(dependency.getClassifier());
+            return Set.of(classifiers).contains(dependency.getClassifier())
+                    ? ArtifactAvailability.Status.AVAILABLE
+                    : ArtifactAvailability.Status.NOT_FOUND;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CpuFeatureProbeTest {
+
+    @Test
+    void testX86Levels() {
+        final Set<String> v2 = CpuFeatureProbe.parseCpuinfo(List.of(
+                "processor\t: 0",
+                "flags\t\t: fpu sse sse2 pni cx16 lahf_lm popcnt sse4_1 sse4_2 ssse3 avx",
+                "processor\t: 1",
+                "flags\t\t: fpu sse sse2"));
+        assertTrue(v2.contains("sse4_2"));
+        assertEquals("v2", CpuFeatureProbe.getLevel("x86_64", v2));
+
+        final Set<String> v3 = CpuFeatureProbe.parseCpuinfo(List.of("flags\t\t: pni cx16 lahf_lm popcnt sse4_1 sse4_2 "
+                + "ssse3 avx avx2 bmi1 bmi2 f16c fma abm movbe xsave avx512f avx512bw avx512cd avx512dq"));
+        assertEquals("v3", CpuFeatureProbe.getLevel("x86_64", v3));
+
+        assertEquals("v1", CpuFeatureProbe.getLevel("x86_64", Set.of("sse2")));
+        assertNull(CpuFeatureProbe.getLevel("x86_64", Set.of()));
+    }
+
+    @Test
+    void testX86LevelWithoutSse3() {
+        // All the flags of v2 but SSE3, which Linux reports as "pni".
+        final Set<String> features = CpuFeatureProbe.parseCpuinfo(
+                List.of("flags\t\t: fpu sse sse2 cx16 lahf_lm popcnt sse4_1 sse4_2 ssse3 avx"));
+        assertEquals("v1", CpuFeatureProbe.getLevel("x86_64", features));
+    }
+
+    @Test
+    void testAarch64Levels() {
+        final Set<String> features = CpuFeatureProbe.parseCpuinfo(List.of(
+                "Features\t: fp asimd evtstrm aes pmull sha1 sha2 crc32 atomics fphp asimdhp cpuid asimdrdm jscvt "
+                        + "fcma lrcpc dcpop sha3 sve"));
+        assertEquals("v8.3-sve", CpuFeatureProbe.getLevel("aarch_64", features));
+        assertEquals("v8.0", CpuFeatureProbe.getLevel("aarch_64", Set.of("fp", "asimd")));
+        assertNull(CpuFeatureProbe.getLevel("ppcle_64", features));
+    }
+
+    @Test
+    void testRiscvIsa() {
+        assertEquals(
+                Set.of("i", "m", "a", "f", "d", "c", "v", "zicsr", "zifencei", "zba"),
+                CpuFeatureProbe.parseCpuinfo(List.of("isa\t\t: rv64gcv_zba")));
+    }
+
+    @Test
+    void testAuxv() {
+        final ByteBuffer auxv = ByteBuffer.allocate(64).order(ByteOrder.nativeOrder());
+        auxv.putLong(6).putLong(4096); // AT_PAGESZ
+        auxv.putLong(16).putLong((1L << 1) | (1L << 8) | (1L << 22)); // AT_HWCAP
+        auxv.putLong(26).putLong(1L << 1); // AT_HWCAP2
+        auxv.putLong(0).putLong(0); // AT_NULL
+
+        assertEquals(
+                Set.of("asimd", "atomics", "sve", "sve2"),
+                CpuFeatureProbe.parseAuxv(auxv.array(), "aarch_64", "64"));
+        assertEquals(Set.of(), CpuFeatureProbe.parseAuxv(auxv.array(), "x86_64", "64"));
+    }
+}
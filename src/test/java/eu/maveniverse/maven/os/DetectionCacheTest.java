@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DetectionCacheTest {
+
+    @Test
+    void testStoreAndLoad(@TempDir Path tempDir) {
+        // Arrange
+        DetectionCache cache = new DetectionCache(tempDir.resolve("sub/cache.properties"));
+        Map<String, String> detected = new LinkedHashMap<>();
+        detected.put(Detector.DETECTED_NAME, "linux");
+        detected.put(Detector.DETECTED_ARCH, "x86_64");
+        detected.put(Detector.DETECTED_RELEASE_LIKE_PREFIX + "debian", "true");
+
+        // Act
+        cache.store("key", detected);
+
+        // Assert
+        assertEquals(detected, cache.load("key"));
+        assertNull(cache.load("other-key"));
+    }
+
+    @Test
+    void testLoadMissingFile(@TempDir Path tempDir) {
+        // Arrange
+        DetectionCache cache = new DetectionCache(tempDir.resolve("missing.properties"));
+
+        // Act & Assert
+        assertNull(cache.load("key"));
+    }
+
+    @Test
+    void testFileStamp(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        FileOperationProvider provider = new Detector.SimpleFileOperations();
+        Path file = tempDir.resolve("os-release");
+        Files.write(file, "ID=ubuntu\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        String stamp = provider.getFileStamp(file.toString());
+        Files.write(file, "ID=debian\nVERSION_ID=12\n".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertNotNull(stamp);
+        assertNotEquals(stamp, provider.getFileStamp(file.toString()));
+        assertEquals("", provider.getFileStamp(tempDir.resolve("missing").toString()));
+    }
+
+    @Test
+    void testAppendStamps(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("os-release"), "ID=ubuntu\n".getBytes(StandardCharsets.UTF_8));
+        List<String> files = List.of(file.toString(), tempDir.resolve("missing").toString());
+        FileOperationProvider unstamped = fileName -> Files.newInputStream(Path.of(fileName));
+
+        // Act
+        StringBuilder key = new StringBuilder();
+        boolean stamped = DetectionCache.appendStamps(key, new Detector.SimpleFileOperations(), files);
+
+        // Assert
+        assertTrue(stamped);
+        assertTrue(key.toString().contains(tempDir.resolve("missing") + "=\n"));
+        assertFalse(DetectionCache.appendStamps(new StringBuilder(), unstamped, files));
+    }
+
+    @Test
+    void testFingerprint() {
+        assertEquals(DetectionCache.fingerprint("os.name=Linux"), DetectionCache.fingerprint("os.name=Linux"));
+        assertNotEquals(DetectionCache.fingerprint("os.name=Linux"), DetectionCache.fingerprint("os.name=Mac"));
+        assertEquals(64, DetectionCache.fingerprint("").length());
+    }
+}
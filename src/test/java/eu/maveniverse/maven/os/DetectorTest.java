@@ -23,12 +23,16 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -76,6 +80,7 @@ class DetectorTest {
 
     @BeforeEach
     void setup() throws IOException {
+        SharedDetection.reset();
         detector = new TestDetector(systemPropertyProvider, fileOperationProvider);
         properties = new Properties();
 
@@ -87,6 +92,9 @@ class DetectorTest {
                 .when(systemPropertyProvider.getSystemProperty(anyString(), anyString()))
                 .thenReturn("");
 
+        // The optional settings, such as the cache or the probe groups, are not set by default.
+        lenient().when(systemPropertyProvider.getSystemProperty(anyString())).thenReturn(null);
+
         // Setup special case mocking
         lenient()
                 .doThrow(new IOException("File not found"))
@@ -154,6 +162,76 @@ class DetectorTest {
         assertEquals("linux-x86_64-debian", properties.getProperty(Detector.DETECTED_CLASSIFIER));
     }
 
+    @Test
+    void testDetectLinuxReleaseKeys() throws IOException {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.4.0");
+        when(systemPropertyProvider.getSystemProperty(Detector.RELEASE_KEYS_PROPERTY))
+                .thenReturn("name, version_codename");
+
+        // Act
+        detector.detect(properties, List.of());
+
+        // Assert
+        assertEquals("ubuntu", properties.getProperty(Detector.DETECTED_RELEASE));
+        assertEquals("20.04", properties.getProperty(Detector.DETECTED_RELEASE_VERSION));
+        assertEquals("Ubuntu", properties.getProperty(Detector.DETECTED_RELEASE + ".name"));
+        assertNull(properties.getProperty(Detector.DETECTED_RELEASE + ".version_codename"));
+        assertNull(properties.getProperty(Detector.DETECTED_RELEASE + ".id"));
+        assertEquals("linux-x86_64", properties.getProperty(Detector.DETECTED_CLASSIFIER));
+    }
+
+    @Test
+    void testFingerprint() {
+        // Arrange
+        Map<String, String> detected = new LinkedHashMap<>();
+        detected.put(Detector.DETECTED_NAME, "linux");
+        detected.put(Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+        detected.put(Detector.DETECTED_RELEASE, "ubuntu");
+        detected.put(Detector.DETECTED_RELEASE_LIKE_PREFIX + "debian", "true");
+        Map<String, String> reordered = new LinkedHashMap<>();
+        reordered.put(Detector.DETECTED_RELEASE_LIKE_PREFIX + "debian", "true");
+        reordered.put(Detector.DETECTED_RELEASE, "ubuntu");
+        reordered.put(Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+
+        // Act
+        String fingerprint =
+                Detector.fingerprint(detected, List.of(Detector.DETECTED_CLASSIFIER, "os.detected.release*"));
+
+        // Assert
+        assertEquals(64, fingerprint.length());
+        assertEquals(
+                fingerprint,
+                Detector.fingerprint(reordered, List.of("os.detected.release*", Detector.DETECTED_CLASSIFIER)));
+        assertNotEquals(fingerprint, Detector.fingerprint(detected, List.of(Detector.DETECTED_CLASSIFIER)));
+        reordered.put(Detector.DETECTED_CLASSIFIER, "linux-aarch_64");
+        assertNotEquals(
+                fingerprint,
+                Detector.fingerprint(reordered, List.of(Detector.DETECTED_CLASSIFIER, "os.detected.release*")));
+    }
+
+    @Test
+    void testFingerprintWithLazyRelease() {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.4.0");
+        when(systemPropertyProvider.getSystemProperty(Detector.LAZY_RELEASE_PROPERTY)).thenReturn("true");
+
+        // Act
+        DetectionResult withRelease = detector.detect(List.of(), true);
+        DetectionResult withoutRelease = detector.detect(List.of(), false);
+
+        // Assert
+        assertEquals("ubuntu", withRelease.getProperty(Detector.DETECTED_RELEASE));
+        assertNull(withoutRelease.getProperty(Detector.DETECTED_RELEASE));
+        assertEquals(
+                withRelease.getProperty(Detector.DETECTED_FINGERPRINT),
+                withoutRelease.getProperty(Detector.DETECTED_FINGERPRINT));
+    }
+
     @Test
     void testDetectMacOS() {
         // Arrange
@@ -239,6 +317,126 @@ class DetectorTest {
         assertEquals("linux-x86_64-rhel", properties.getProperty(Detector.DETECTED_CLASSIFIER));
     }
 
+    @Test
+    void testPersistentCache(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.4.0");
+        when(systemPropertyProvider.getSystemProperty("sun.arch.data.model")).thenReturn("64");
+        when(systemPropertyProvider.getSystemProperty("failOnUnknownOS")).thenReturn(null);
+        when(systemPropertyProvider.getSystemProperty(DetectionCache.CACHE_PROPERTY))
+                .thenReturn(tempDir.resolve("cache.properties").toString());
+        when(fileOperationProvider.getFileStamp(anyString())).thenReturn("stamp");
+
+        // Act
+        detector.detect(properties, List.of("debian"));
+        final Properties cachedProperties = new Properties();
+        detector.detect(cachedProperties, List.of("debian"));
+
+        // Assert
+        assertEquals("linux-x86_64-debian", properties.getProperty(Detector.DETECTED_CLASSIFIER));
+        assertEquals(properties, cachedProperties);
+        verify(fileOperationProvider, times(1)).readFile("/etc/os-release");
+
+        // A changed fingerprint invalidates the cache.
+        when(fileOperationProvider.getFileStamp("/etc/os-release")).thenReturn("changed");
+        detector.detect(new Properties(), List.of("debian"));
+        verify(fileOperationProvider, times(2)).readFile("/etc/os-release");
+    }
+
+    @Test
+    void testSharedDetection() throws IOException {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.15.0");
+        when(systemPropertyProvider.getSystemProperty("sun.arch.data.model")).thenReturn("64");
+        when(systemPropertyProvider.getSystemProperty("failOnUnknownOS")).thenReturn(null);
+
+        // Act
+        DetectionResult result = SharedDetection.detect(detector, properties, List.of("debian"));
+        detector.resetLogOutput();
+        Properties sharedProperties = new Properties();
+        DetectionResult sharedResult = SharedDetection.detect(detector, sharedProperties, List.of("debian"));
+
+        // Assert
+        assertSame(result, sharedResult);
+        assertEquals("linux-x86_64-debian", result.getProperty(Detector.DETECTED_CLASSIFIER));
+        assertEquals(properties, sharedProperties);
+        assertEquals("", detector.getLogOutput());
+        verify(fileOperationProvider, times(1)).readFile("/etc/os-release");
+    }
+
+    @Test
+    void testSharedDetectionRefreshesProbes() throws IOException {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.15.0");
+        when(systemPropertyProvider.getSystemProperty("sun.arch.data.model")).thenReturn("64");
+        when(systemPropertyProvider.getSystemProperty("failOnUnknownOS")).thenReturn(null);
+        when(systemPropertyProvider.getSystemProperty("os.detection.resources")).thenReturn("true");
+        String[] memTotal = {"16384000"};
+        when(fileOperationProvider.readFile("/proc/meminfo"))
+                .thenAnswer(invocation -> new ByteArrayInputStream(
+                        ("MemTotal: " + memTotal[0] + " kB\n").getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        DetectionResult result = SharedDetection.detect(detector, properties, List.of());
+        memTotal[0] = "8192000";
+        Properties sharedProperties = new Properties();
+        DetectionResult sharedResult = SharedDetection.detect(detector, sharedProperties, List.of());
+
+        // Assert
+        assertEquals("16777216000", result.getProperty("os.detected.memory.total"));
+        assertEquals("8388608000", sharedResult.getProperty("os.detected.memory.total"));
+        assertEquals("8388608000", sharedProperties.getProperty("os.detected.memory.total"));
+        assertEquals("linux-x86_64", sharedResult.getProperty(Detector.DETECTED_CLASSIFIER));
+        assertEquals("ubuntu", sharedResult.getProperty(Detector.DETECTED_RELEASE));
+        verify(fileOperationProvider, times(1)).readFile("/etc/os-release");
+        verify(fileOperationProvider, times(2)).readFile("/proc/meminfo");
+    }
+
+    @Test
+    void testEarlyDetection() throws IOException {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("Linux");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("5.15.0");
+        when(systemPropertyProvider.getSystemProperty("sun.arch.data.model")).thenReturn("64");
+        when(systemPropertyProvider.getSystemProperty("failOnUnknownOS")).thenReturn(null);
+        SharedDetection.EarlyDetection early = SharedDetection.detectEarly(log -> detector, true);
+
+        // Act
+        DetectionResult result = SharedDetection.detect(detector, properties, List.of(), true, early);
+        DetectionResult sharedResult = SharedDetection.detect(detector, new Properties(), List.of(), true, early);
+
+        // Assert
+        assertNotNull(early);
+        assertSame(result, sharedResult);
+        assertEquals("linux-x86_64", properties.getProperty(Detector.DETECTED_CLASSIFIER));
+        verify(fileOperationProvider, times(1)).readFile("/etc/os-release");
+        assertNull(SharedDetection.detectEarly(log -> detector, true));
+    }
+
+    @Test
+    void testEarlyDetectionFailure() {
+        // Arrange
+        when(systemPropertyProvider.getSystemProperty("os.name")).thenReturn("FooOS");
+        when(systemPropertyProvider.getSystemProperty("os.arch")).thenReturn("x86_64");
+        when(systemPropertyProvider.getSystemProperty("os.version")).thenReturn("1.0");
+        when(systemPropertyProvider.getSystemProperty("sun.arch.data.model")).thenReturn("64");
+        when(systemPropertyProvider.getSystemProperty("failOnUnknownOS")).thenReturn(null);
+        SharedDetection.EarlyDetection early = SharedDetection.detectEarly(log -> detector, false);
+
+        // Act & Assert
+        DetectionException exception = assertThrows(
+                DetectionException.class,
+                () -> SharedDetection.detect(detector, properties, List.of(), false, early));
+        assertEquals("unknown os.name: FooOS", exception.getMessage());
+    }
+
     @ParameterizedTest
     @CsvSource({
         "x8664, x86_64",
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileChangeWatcherTest {
+
+    @Test
+    void testUnchangedFiles(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = Files.writeString(dir.resolve("os-release"), "ID=fedora\n", StandardCharsets.UTF_8);
+        FileChangeWatcher watcher = new FileChangeWatcher();
+
+        // Act
+        boolean watched = watcher.watch(List.of(file.toString()));
+
+        // Assert
+        assertTrue(watched);
+        assertFalse(watcher.pollChanges());
+    }
+
+    @Test
+    void testChangedFile(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = Files.writeString(dir.resolve("os-release"), "ID=fedora\n", StandardCharsets.UTF_8);
+        FileChangeWatcher watcher = new FileChangeWatcher();
+        assertTrue(watcher.watch(List.of(file.toString())));
+
+        // Act
+        Files.writeString(file, "ID=rhel\n", StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(awaitChanges(watcher));
+        assertFalse(watcher.pollChanges());
+    }
+
+    @Test
+    void testCreatedFile(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("redhat-release");
+        FileChangeWatcher watcher = new FileChangeWatcher();
+        assertTrue(watcher.watch(List.of(file.toString())));
+
+        // Act
+        Files.writeString(file, "Red Hat Enterprise Linux release 9.4 (Plow)\n", StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(awaitChanges(watcher));
+    }
+
+    @Test
+    void testMissingDirectory(@TempDir Path dir) {
+        // Arrange
+        FileChangeWatcher watcher = new FileChangeWatcher();
+
+        // Act
+        boolean watched = watcher.watch(List.of(dir.resolve("missing/os-release").toString()));
+
+        // Assert
+        assertTrue(watched);
+        assertFalse(watcher.pollChanges());
+    }
+
+    @Test
+    void testUnsupportedFileSystem(@TempDir Path dir) throws Exception {
+        // Arrange: zip file systems do not support watching.
+        URI uri = URI.create("jar:" + dir.resolve("fs.zip").toUri());
+        try (FileSystem zip = FileSystems.newFileSystem(uri, Map.of("create", "true"))) {
+            Files.createDirectories(zip.getPath("/etc"));
+            FileChangeWatcher watcher = new FileChangeWatcher(zip);
+
+            // Act
+            boolean watched = watcher.watch(List.of("/etc/os-release"));
+
+            // Assert
+            assertFalse(watched);
+            assertTrue(watcher.pollChanges());
+            assertTrue(watcher.pollChanges());
+            assertFalse(watcher.watch(List.of("/etc/os-release")));
+        }
+    }
+
+    /**
+     * Polls the changes until one is reported, as they are delivered asynchronously, e.g. every few seconds by the
+     * polling implementation of the JDK on macOS.
+     */
+    private static boolean awaitChanges(FileChangeWatcher watcher) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            if (watcher.pollChanges()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class InterpolatorTest {
+
+    private final Map<String, String> dict = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        dict.put(Detector.DETECTED_NAME, "linux");
+        dict.put(Detector.DETECTED_ARCH, "x86_64");
+        dict.put(Detector.DETECTED_CLASSIFIER, "${os.detected.name}-${os.detected.arch}");
+        dict.put("empty", "");
+        dict.put("self", "x${self}");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "${os.detected.name}, linux",
+        "lib-${os.detected.name}-${os.detected.arch}.so, lib-linux-x86_64.so",
+        "${os.detected.classifier}, linux-x86_64",
+        "a${empty}b, ab",
+        "${unknown}, ${unknown}",
+        "${os.detected.name, ${os.detected.name",
+        "$${os.detected.name}, $${os.detected.name}",
+        "$$${os.detected.name}, $$linux",
+        "${os.${os.detected.name}}, ${os.${os.detected.name}}",
+        "${self}, x${self}"
+    })
+    void testInterpolate(String value, String expected) {
+        assertEquals(expected, Interpolator.interpolate(dict, value));
+    }
+
+    @Test
+    void testUnchangedValueIsReturnedAsIs() {
+        String plain = "netty-tcnative";
+        String unknown = "${project.version}";
+
+        assertSame(plain, Interpolator.interpolate(dict, plain));
+        assertSame(unknown, Interpolator.interpolate(dict, unknown));
+        assertNull(Interpolator.interpolate(dict, null));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+
+class KernelProbeTest {
+
+    private static final String CONFIG = "#\n# Automatically generated file; DO NOT EDIT.\n#\n"
+            + "CONFIG_SECCOMP=y\n"
+            + "CONFIG_USER_NS=y\n"
+            + "CONFIG_BPF_SYSCALL=y\n"
+            + "# CONFIG_TRANSPARENT_HUGEPAGE is not set\n"
+            + "CONFIG_EPOLL=y\n"
+            + "# CONFIG_IO_URING is not set\n"
+            + "CONFIG_HZ=250\n";
+
+    private final Map<String, byte[]> files = new HashMap<>();
+
+    private Map<String, String> detect() {
+        final Map<String, String> detected = new LinkedHashMap<>();
+        detected.put(Detector.DETECTED_NAME, "linux");
+        new KernelProbe().detect(this::readFile, detected);
+        return detected;
+    }
+
+    private ByteArrayInputStream readFile(String fileName) throws FileNotFoundException {
+        final byte[] content = files.get(fileName);
+        if (content == null) {
+            throw new FileNotFoundException(fileName);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    private void put(String fileName, String content) {
+        files.put(fileName, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testProcConfig() throws IOException {
+        put("/proc/sys/kernel/osrelease", "6.8.0-45-generic\n");
+        files.put("/proc/config.gz", gzip(CONFIG));
+
+        final Map<String, String> detected = detect();
+
+        assertEquals("6.8.0-45-generic", detected.get(KernelProbe.DETECTED_KERNEL_RELEASE));
+        assertEquals("6.8.0", detected.get(KernelProbe.DETECTED_KERNEL_VERSION));
+        assertEquals("6", detected.get(KernelProbe.DETECTED_KERNEL_VERSION_MAJOR));
+        assertEquals("8", detected.get(KernelProbe.DETECTED_KERNEL_VERSION_MINOR));
+        assertEquals("0", detected.get(KernelProbe.DETECTED_KERNEL_VERSION_PATCH));
+        assertEquals("false", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "io_uring"));
+        assertEquals("true", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "epoll"));
+        assertEquals("true", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "bpf"));
+        assertEquals("false", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "transparent_hugepage"));
+    }
+
+    @Test
+    void testBootConfig() {
+        put("/proc/sys/kernel/osrelease", "5.15.0-1\n");
+        put("/boot/config-5.15.0-1", CONFIG.replace("# CONFIG_IO_URING is not set", "CONFIG_IO_URING=y"));
+
+        final Map<String, String> detected = detect();
+
+        assertEquals("5.15.0", detected.get(KernelProbe.DETECTED_KERNEL_VERSION));
+        assertEquals("true", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "io_uring"));
+        assertEquals("true", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "seccomp"));
+    }
+
+    @Test
+    void testWithoutConfig() {
+        put("/proc/sys/kernel/osrelease", "6.6\n");
+        put("/proc/sys/kernel/io_uring_disabled", "2\n");
+
+        final Map<String, String> detected = detect();
+
+        assertEquals("6.6.0", detected.get(KernelProbe.DETECTED_KERNEL_VERSION));
+        assertEquals("false", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "io_uring"));
+        assertEquals("true", detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "epoll"));
+        assertNull(detected.get(KernelProbe.DETECTED_KERNEL_FEATURES_PREFIX + "bpf"));
+    }
+
+    @Test
+    void testGetFeatures() {
+        assertTrue(KernelProbe.getFeatures(new int[] {5, 1, 0}, null, 0L).get("io_uring"));
+        assertFalse(KernelProbe.getFeatures(new int[] {5, 0, 21}, null, null).get("io_uring"));
+        assertFalse(KernelProbe.getFeatures(new int[] {6, 6, 0}, null, 1L).get("io_uring"));
+        assertTrue(KernelProbe.getFeatures(null, null, null).isEmpty());
+    }
+
+    @Test
+    void testNotLinux() {
+        put("/proc/sys/kernel/osrelease", "6.8.0\n");
+        final Map<String, String> detected = new LinkedHashMap<>();
+        detected.put(Detector.DETECTED_NAME, "osx");
+
+        new KernelProbe().detect(this::readFile, detected);
+
+        assertEquals(1, detected.size());
+    }
+}
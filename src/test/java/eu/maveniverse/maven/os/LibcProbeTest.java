@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LibcProbeTest {
+
+    /**
+     * Builds a minimal 64-bit little endian ELF executable with a load segment and a program interpreter.
+     */
+    private static byte[] elf64(String interpreter) {
+        final byte[] path = (interpreter + '\0').getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer elf = ByteBuffer.allocate(64 + 2 * 56 + path.length).order(ByteOrder.LITTLE_ENDIAN);
+        elf.put(new byte[] {0x7f, 'E', 'L', 'F', 2, 1, 1});
+        elf.putLong(0x20, 64); // e_phoff
+        elf.putShort(0x36, (short) 56); // e_phentsize
+        elf.putShort(0x38, (short) 2); // e_phnum
+        elf.putInt(64, 1); // PT_LOAD
+        elf.putInt(64 + 56, 3); // PT_INTERP
+        elf.putLong(64 + 56 + 8, 64 + 2 * 56); // p_offset
+        elf.putLong(64 + 56 + 32, path.length); // p_filesz
+        elf.position(64 + 2 * 56);
+        elf.put(path);
+        return elf.array();
+    }
+
+    @Test
+    void testParseInterpreter() {
+        assertEquals("/lib64/ld-linux-x86-64.so.2", LibcProbe.parseInterpreter(elf64("/lib64/ld-linux-x86-64.so.2")));
+        assertEquals("/lib/ld-musl-aarch64.so.1", LibcProbe.parseInterpreter(elf64("/lib/ld-musl-aarch64.so.1")));
+        assertNull(LibcProbe.parseInterpreter("#!/bin/sh".getBytes(StandardCharsets.US_ASCII)));
+        assertNull(LibcProbe.parseInterpreter(null));
+    }
+
+    @Test
+    void testGetFlavour() {
+        assertEquals(LibcProbe.GLIBC, LibcProbe.getFlavour("/lib64/ld-linux-x86-64.so.2"));
+        assertEquals(LibcProbe.GLIBC, LibcProbe.getFlavour("/lib/ld-linux-aarch64.so.1"));
+        assertEquals(LibcProbe.GLIBC, LibcProbe.getFlavour("/lib64/ld64.so.2"));
+        assertEquals(LibcProbe.MUSL, LibcProbe.getFlavour("/lib/ld-musl-x86_64.so.1"));
+        assertNull(LibcProbe.getFlavour("/system/bin/linker64"));
+    }
+
+    @Test
+    void testParseVersions() {
+        final byte[] loader = "\0\0ld.so (GNU libc) stable release version 2.36.\nCopyright\0"
+                .getBytes(StandardCharsets.US_ASCII);
+        assertEquals("2.36", LibcProbe.parseGlibcVersion(loader));
+        assertNull(LibcProbe.parseGlibcVersion(new byte[16]));
+
+        final List<String> installed =
+                List.of("P:busybox", "V:1.36.1-r15", "", "P:musl", "V:1.2.4_git20230717-r4", "A:x86_64");
+        assertEquals("1.2.4_git20230717", LibcProbe.parseApkVersion(installed, "musl"));
+        assertNull(LibcProbe.parseApkVersion(installed, "glibc"));
+    }
+
+    @Test
+    void testGetTags() {
+        final List<String> manylinux = LibcProbe.getTags(LibcProbe.GLIBC, "2.17", "x86_64");
+        assertEquals("manylinux_2_17_x86_64", manylinux.get(0));
+        assertEquals("manylinux2014_x86_64", manylinux.get(1));
+        assertEquals("manylinux1_x86_64", manylinux.get(manylinux.size() - 1));
+
+        assertEquals(
+                List.of("musllinux_1_2_aarch64", "musllinux_1_1_aarch64"),
+                LibcProbe.getTags(LibcProbe.MUSL, "1.2.4", "aarch_64"));
+    }
+}
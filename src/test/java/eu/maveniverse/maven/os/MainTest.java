@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MainTest {
+
+    @Test
+    void testFormatProperties() {
+        assertEquals(
+                "os.detected.name=linux\nos.detected.classifier=linux-x86_64\n",
+                Main.format(properties(), Main.Format.PROPERTIES));
+    }
+
+    @Test
+    void testFormatJson() {
+        Map<String, String> props = properties();
+        props.put("os.detected.release", "a\"b\\c\n");
+
+        assertEquals(
+                "{\n  \"os.detected.name\": \"linux\",\n  \"os.detected.classifier\": \"linux-x86_64\",\n"
+                        + "  \"os.detected.release\": \"a\\\"b\\\\c\\u000a\"\n}\n",
+                Main.format(props, Main.Format.JSON));
+        assertEquals("{}\n", Main.format(Map.of(), Main.Format.JSON));
+    }
+
+    @Test
+    void testFormatShell() {
+        Map<String, String> props = properties();
+        props.put("os.detected.cpu.features.3dnowprefetch", "it's");
+
+        assertEquals(
+                "export OS_DETECTED_NAME='linux'\nexport OS_DETECTED_CLASSIFIER='linux-x86_64'\n"
+                        + "export OS_DETECTED_CPU_FEATURES_3DNOWPREFETCH='it'\\''s'\n",
+                Main.format(props, Main.Format.SHELL));
+    }
+
+    @Test
+    void testHelp() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = Main.run(new String[] {"--help"}, print(out), print(err));
+
+        assertEquals(Main.EXIT_OK, status);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("Usage: "));
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUnknownFormat() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = Main.run(new String[] {"--format=yaml"}, print(out), print(err));
+
+        assertEquals(Main.EXIT_USAGE, status);
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+        assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("Unknown format: yaml"));
+    }
+
+    @Test
+    void testDetect() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = Main.run(new String[] {"--format=properties"}, print(out), print(err));
+
+        assertEquals(Main.EXIT_OK, status);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains(Detector.DETECTED_CLASSIFIER + "="));
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDetectWithSystemPropertyArguments() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        String arch = System.getProperty("os.arch");
+        String detectedArch = System.getProperty(Detector.DETECTED_ARCH);
+
+        int status = Main.run(new String[] {"-Dos.arch=aarch64", "-Dos.detection.unused"}, print(out), print(err));
+
+        assertEquals(Main.EXIT_OK, status);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains(Detector.DETECTED_ARCH + "=aarch_64\n"));
+        assertEquals(arch, System.getProperty("os.arch"));
+        assertEquals(detectedArch, System.getProperty(Detector.DETECTED_ARCH));
+        assertNull(System.getProperty("os.detection.unused"));
+    }
+
+    private static Map<String, String> properties() {
+        Map<String, String> props = new LinkedHashMap<>();
+        props.put(Detector.DETECTED_NAME, "linux");
+        props.put(Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+        return props;
+    }
+
+    private static PrintStream print(ByteArrayOutputStream out) {
+        return new PrintStream(out, true, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatrixDetectionTest {
+
+    @Test
+    void testDetectMatrix(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        Path osRelease = tempDir.resolve("os-release");
+        Files.write(
+                osRelease, "ID=ubuntu\nID_LIKE=debian\nVERSION_ID=\"22.04\"\n".getBytes(StandardCharsets.UTF_8));
+        TargetPlatform linux = new TargetPlatform("Linux", "aarch64");
+        linux.setOsVersion("5.15.0");
+        linux.setOsRelease(osRelease.toFile());
+        linux.setClassifierWithLikes("debian");
+        TargetPlatform windows = new TargetPlatform("Windows 11", "amd64");
+        windows.setId("win");
+        TargetPlatform mac = new TargetPlatform("Mac OS X", "aarch64");
+        String hostClassifier = System.getProperty(Detector.DETECTED_CLASSIFIER);
+
+        // Act
+        Map<String, DetectionResult> results = MatrixDetection.detect(List.of(linux, windows, mac), 3);
+        Properties props = new Properties();
+        MatrixDetection.publish(props, results);
+
+        // Assert
+        assertEquals("linux-aarch_64-debian,win,osx-aarch_64", props.getProperty(MatrixDetection.TARGETS_PROPERTY));
+        assertEquals("linux-aarch_64-debian", props.getProperty("os.target.linux-aarch_64-debian.classifier"));
+        assertEquals("ubuntu", props.getProperty("os.target.linux-aarch_64-debian.release"));
+        assertEquals("22.04", props.getProperty("os.target.linux-aarch_64-debian.release.version"));
+        assertEquals("64", props.getProperty("os.target.linux-aarch_64-debian.bitness"));
+        assertEquals("windows-x86_64", props.getProperty("os.target.win.classifier"));
+        assertNull(props.getProperty("os.target.win.release"));
+        assertEquals("osx", props.getProperty("os.target.osx-aarch_64.name"));
+        assertEquals(hostClassifier, System.getProperty(Detector.DETECTED_CLASSIFIER));
+    }
+
+    @Test
+    void testUnknownPlatform() {
+        TargetPlatform platform = new TargetPlatform("Plan 9", "mips");
+
+        DetectionException e =
+                assertThrows(DetectionException.class, () -> MatrixDetection.detect(List.of(platform), 1));
+        assertEquals("Plan 9/mips: unknown os.name: Plan 9", e.getMessage());
+    }
+
+    @Test
+    void testDuplicatePlatform() {
+        TargetPlatform platform = new TargetPlatform("Linux", "amd64");
+
+        assertThrows(DetectionException.class, () -> MatrixDetection.detect(List.of(platform, platform), 2));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static eu.maveniverse.maven.os.TestProjects.classifier;
+import static eu.maveniverse.maven.os.TestProjects.project;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelInterpolatorTest {
+
+    private final Map<String, String> dict = Map.of(Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+
+    @Test
+    void testInterpolateProjectAndParent() {
+        // Arrange
+        MavenProject parent = project("${os.detected.classifier}");
+        MavenProject child = project("${os.detected.classifier}");
+        child.setParent(parent);
+        Set<ModelBase> completed = ModelInterpolator.newModelSet();
+
+        // Act
+        new ModelInterpolator(dict, completed).interpolate(child);
+
+        // Assert
+        assertEquals("linux-x86_64", classifier(child));
+        assertEquals("linux-x86_64", classifier(parent));
+        assertEquals("linux-x86_64", child.getModel().getProperties().getProperty(Detector.DETECTED_CLASSIFIER));
+        assertTrue(completed.contains(child.getModel()));
+        assertTrue(completed.contains(parent.getModel()));
+    }
+
+    @Test
+    void testCompletedModelsAreSkipped() {
+        // Arrange
+        MavenProject project = project("${os.detected.classifier}");
+        Set<ModelBase> completed = ModelInterpolator.newModelSet();
+        new ModelInterpolator(dict, completed).interpolate(project);
+        project.getDependencies().get(0).setClassifier("${os.detected.classifier}");
+
+        // Act
+        new ModelInterpolator(dict, completed).interpolate(project);
+
+        // Assert
+        assertEquals("${os.detected.classifier}", classifier(project));
+    }
+
+    @Test
+    void testCompletedModelsAreReinterpolatedWithNewProperties() {
+        // Arrange
+        MavenProject project = project("${os.detected.classifier}");
+        ModelInterpolator.CompletedModels completed = new ModelInterpolator.CompletedModels();
+        new ModelInterpolator(dict, completed.get(dict)).interpolate(project);
+        Map<String, String> grown =
+                Map.of(Detector.DETECTED_CLASSIFIER, "linux-x86_64", Detector.DETECTED_RELEASE, "ubuntu");
+
+        // Act
+        boolean completedWithSameProperties = completed.get(Map.copyOf(dict)).contains(project.getModel());
+        new ModelInterpolator(grown, completed.get(grown)).interpolate(project);
+
+        // Assert
+        assertTrue(completedWithSameProperties);
+        assertEquals("ubuntu", project.getModel().getProperties().getProperty(Detector.DETECTED_RELEASE));
+        assertTrue(completed.get(grown).contains(project.getModel()));
+    }
+
+    @Test
+    void testUnresolvedModelsAreNotCompleted() {
+        // Arrange
+        MavenProject project = project("${os.detected.version}");
+        Set<ModelBase> completed = ModelInterpolator.newModelSet();
+
+        // Act
+        new ModelInterpolator(dict, completed).interpolate(project);
+
+        // Assert
+        assertEquals("${os.detected.version}", classifier(project));
+        assertFalse(completed.contains(project.getModel()));
+    }
+
+    @Test
+    void testInterpolationIsRecorded(@TempDir Path dir) throws Exception {
+        // Arrange
+        MavenProject parent = project("${os.detected.classifier}");
+        MavenProject child = project("${os.detected.classifier}");
+        child.setParent(parent);
+        Path file = dir.resolve("interpolation.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable("eu.maveniverse.maven.os.Interpolation");
+            recording.start();
+            new ModelInterpolator(dict, ModelInterpolator.newModelSet()).interpolate(child);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(child.getId(), event.getString("project"));
+        assertEquals(2, event.getInt("models"));
+        assertEquals(2, event.getInt("dependencies"));
+        assertEquals(2, event.getInt("rewrittenValues"));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static eu.maveniverse.maven.os.TestProjects.dependency;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.connector.basic.BasicRepositoryConnectorFactory;
+import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.transport.file.FileTransporterFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NativePrefetchTest {
+
+    private final Map<String, String> dict = Map.of(
+            Detector.DETECTED_NAME, "linux",
+            Detector.DETECTED_ARCH, "x86_64",
+            Detector.DETECTED_CLASSIFIER, "linux-x86_64");
+
+    @Test
+    void testPrefetchFromFileRepository(@TempDir Path repository) throws Exception {
+        // Arrange
+        publish(repository, "io.netty", "netty-tcnative", "2.0.0", "linux-x86_64", "jar");
+        publish(repository, "com.google.protobuf", "protoc", "3.25.0", "linux-x86_64", "exe");
+        MavenProject project = project();
+        MavenProject other = project();
+        NativePrefetch prefetch = new NativePrefetch(
+                dict,
+                (p, dependency, plugin) -> Files.exists(repository
+                                .resolve(dependency.getGroupId().replace('.', '/'))
+                                .resolve(dependency.getArtifactId())
+                                .resolve(dependency.getVersion())
+                                .resolve(dependency.getArtifactId() + '-' + dependency.getVersion() + '-'
+                                        + dependency.getClassifier() + '.' + dependency.getType()))
+                        ? ArtifactAvailability.Status.AVAILABLE
+                        : ArtifactAvailability.Status.NOT_FOUND);
+
+        // Act
+        List<NativePrefetch.Request> requests = prefetch.collect(List.of(project, other));
+        int count = prefetch.prefetch(List.of(project, other), 4);
+
+        // Assert
+        assertEquals(
+                List.of(
+                        "io.netty:netty-tcnative:linux-x86_64:false",
+                        "io.grpc:protoc-gen-grpc-java:linux-x86_64:true",
+                        "com.google.protobuf:protoc:linux-x86_64:false"),
+                requests.stream()
+                        .map(r -> r.dependency.getGroupId() + ':' + r.dependency.getArtifactId() + ':'
+                                + r.dependency.getClassifier() + ':' + r.pluginDependency)
+                        .collect(Collectors.toList()));
+        assertEquals(2, count);
+    }
+
+    @Test
+    void testPrefetchWithRepositorySystem(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path remote = dir.resolve("remote");
+        publish(remote, "io.netty", "netty-tcnative", "2.0.0", "linux-x86_64", "jar");
+        DefaultServiceLocator locator = MavenRepositorySystemUtils.newServiceLocator();
+        locator.addService(RepositoryConnectorFactory.class, BasicRepositoryConnectorFactory.class);
+        locator.addService(TransporterFactory.class, FileTransporterFactory.class);
+        RepositorySystem system = locator.getService(RepositorySystem.class);
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setChecksumPolicy(RepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+        session.setLocalRepositoryManager(
+                system.newLocalRepositoryManager(session, new LocalRepository(dir.resolve("local").toFile())));
+        List<RemoteRepository> repositories = List.of(
+                new RemoteRepository.Builder("remote", "default", remote.toUri().toString()).build());
+        Model model = new Model();
+        model.addDependency(dependency("io.netty", "netty-tcnative", "2.0.0", "linux-x86_64"));
+        model.addDependency(dependency("io.netty", "netty-tcnative", "2.0.0", "linux-x86_64-fedora"));
+        MavenProject project = new MavenProject(model) {
+            @Override
+            public List<RemoteRepository> getRemoteProjectRepositories() {
+                return repositories;
+            }
+        };
+        RepositoryArtifactAvailability availability = new RepositoryArtifactAvailability(system, session);
+
+        // Act
+        int count = new NativePrefetch(dict, availability).prefetch(List.of(project), 2);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(
+                ArtifactAvailability.Status.AVAILABLE,
+                availability.resolve(project, model.getDependencies().get(0), false));
+        assertEquals(
+                ArtifactAvailability.Status.NOT_FOUND,
+                availability.resolve(project, model.getDependencies().get(1), false));
+        assertTrue(Files.exists(
+                dir.resolve("local/io/netty/netty-tcnative/2.0.0/netty-tcnative-2.0.0-linux-x86_64.jar")));
+    }
+
+    private static void publish(
+            Path repository, String groupId, String artifactId, String version, String classifier, String type)
+            throws IOException {
+        Path dir = repository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+        Files.createDirectories(dir);
+        Files.createFile(dir.resolve(artifactId + '-' + version + '-' + classifier + '.' + type));
+    }
+
+    private static MavenProject project() {
+        Model model = new Model();
+        model.addDependency(dependency("io.netty", "netty-tcnative", "2.0.0", "linux-x86_64"));
+        model.addDependency(dependency("org.slf4j", "slf4j-api", "2.0.0", null));
+        Plugin plugin = new Plugin();
+        plugin.addDependency(dependency("io.grpc", "protoc-gen-grpc-java", "1.60.0", "linux-x86_64"));
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        Xpp3Dom protocArtifact = new Xpp3Dom("protocArtifact");
+        protocArtifact.setValue("com.google.protobuf:protoc:3.25.0:exe:linux-x86_64");
+        configuration.addChild(protocArtifact);
+        plugin.setConfiguration(configuration);
+        Build build = new Build();
+        build.addPlugin(plugin);
+        model.setBuild(build);
+        return new MavenProject(model);
+    }
+}
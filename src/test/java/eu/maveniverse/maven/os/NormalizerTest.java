@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class NormalizerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "os400, os400",
+        "os400x, os400",
+        "os4000, unknown",
+        "macos, osx",
+        "Windows Server 2022, windows",
+        "'', unknown"
+    })
+    void testNormalizeOs(String input, String expected) {
+        assertEquals(expected, Normalizer.getDefault().normalizeOs(input));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"x86_64, x86_64", "IA64W, itanium_64", "i786, unknown", "mips64el, mipsel_64", "'', unknown"})
+    void testNormalizeArch(String input, String expected) {
+        assertEquals(expected, Normalizer.getDefault().normalizeArch(input));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "6.8.0-45-generic, 6.8",
+        "10.0, 10.0",
+        "14.4.1, 14.4",
+        "5, ",
+        "5., ",
+        ".5, ",
+        "'', "
+    })
+    void testNormalizeVersion(String input, String expected) {
+        assertEquals(expected, Normalizer.getDefault().normalizeVersion(input));
+    }
+
+    @Test
+    void testNormalizeNonAscii() {
+        // U+0130 is lower-cased into an 'i' followed by a combining dot.
+        assertEquals("windows", Normalizer.getDefault().normalizeOs("W\u0130ndows"));
+        assertEquals("unknown", Normalizer.getDefault().normalizeOs("L\u00efnux"));
+        assertEquals("x86_64", Normalizer.getDefault().normalizeArch("AMD\u201364"));
+    }
+
+    @Test
+    void testNormalizeBatch() {
+        // Arrange
+        Normalizer normalizer = Normalizer.getDefault();
+
+        // Act
+        String[] names = normalizer.normalizeOsBatch(new String[] {"Linux", "Mac OS X", null, "Plan 9"});
+        String[] archs = normalizer.normalizeArchBatch(new String[] {"amd64", "aarch64", "armv7l"});
+        String[] versions = normalizer.normalizeVersionBatch(new String[] {"6.8.0", "unknown"});
+
+        // Assert
+        assertArrayEquals(new String[] {"linux", "osx", "unknown", "unknown"}, names);
+        assertArrayEquals(new String[] {"x86_64", "aarch_64", "unknown"}, archs);
+        assertArrayEquals(new String[] {"6.8", null}, versions);
+    }
+
+    @Test
+    void testNormalizeStream() {
+        // Arrange
+        Normalizer normalizer = Normalizer.getDefault();
+
+        // Act
+        String names = normalizer.normalizeOsBatch(Stream.of("Windows 11", "FreeBSD")).collect(Collectors.joining(","));
+        String archs = normalizer.normalizeArchBatch(Stream.of("ppc64le", "s390x")).collect(Collectors.joining(","));
+
+        // Assert
+        assertEquals("windows,freebsd", names);
+        assertEquals("ppcle_64,s390_64", archs);
+    }
+
+    @Test
+    void testVocabularyIsInterned() {
+        // Arrange
+        Properties aliases = new Properties();
+        aliases.setProperty("os.haiku", new String(new char[] {'h', 'a', 'i', 'k', 'u'}));
+        aliases.setProperty("arch.armv7l", new String(new char[] {'a', 'r', 'm', '_', '3', '2'}));
+
+        // Act
+        Normalizer normalizer = Normalizer.withAliases(aliases);
+
+        // Assert
+        assertSame("haiku", normalizer.normalizeOs("Haiku"));
+        assertSame("arm_32", normalizer.normalizeArch("armv7l"));
+        assertSame("unknown", normalizer.normalizeOs("Plan 9"));
+        assertTrue(normalizer.getOsNames().contains("haiku"));
+        assertTrue(normalizer.getArchNames().contains("arm_32"));
+        assertTrue(Normalizer.getDefault().getOsNames().contains("unknown"));
+        assertTrue(Normalizer.getDefault().getArchNames().contains("x86_64"));
+        assertThrows(UnsupportedOperationException.class, () -> normalizer.getOsNames().add("plan9"));
+    }
+
+    @Test
+    void testNormalizeNull() {
+        assertEquals("unknown", Normalizer.getDefault().normalizeOs(null));
+        assertEquals("unknown", Normalizer.getDefault().normalizeArch(null));
+    }
+
+    @Test
+    void testAdditionalAliases() {
+        // Arrange
+        Properties aliases = new Properties();
+        aliases.setProperty("os.haiku", "haiku");
+        aliases.setProperty("os.linuxish", "other");
+        aliases.setProperty("arch.armv7l", "arm_32");
+        aliases.setProperty("arch.x86-64", "amd_64");
+
+        // Act
+        Normalizer normalizer = Normalizer.withAliases(aliases);
+
+        // Assert
+        assertEquals("haiku", normalizer.normalizeOs("Haiku R1"));
+        assertEquals("other", normalizer.normalizeOs("Linuxish"));
+        assertEquals("linux", normalizer.normalizeOs("Linux"));
+        assertEquals("arm_32", normalizer.normalizeArch("armv7l"));
+        assertEquals("amd_64", normalizer.normalizeArch("x86_64"));
+        assertEquals("unknown", Normalizer.getDefault().normalizeArch("armv7l"));
+    }
+}
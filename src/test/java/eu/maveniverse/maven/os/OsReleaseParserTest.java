@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class OsReleaseParserTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "alpine-3.19, alpine, 3.19.1, , PRETTY_NAME, Alpine Linux v3.19",
+        "amzn-2023, amzn, 2023, fedora, PLATFORM_ID, platform:al2023",
+        "arch, arch, , , BUILD_ID, rolling",
+        "debian-12, debian, 12, , VERSION_CODENAME, bookworm",
+        "fedora-40, fedora, 40, , VARIANT_ID, container",
+        "opensuse-leap-15.5, opensuse-leap, 15.5, suse opensuse, CPE_NAME, cpe:/o:opensuse:leap:15.5",
+        "rhel-9.4, rhel, 9.4, fedora, REDHAT_SUPPORT_PRODUCT, Red Hat Enterprise Linux",
+        "rocky-9.3, rocky, 9.3, rhel centos fedora, PLATFORM_ID, platform:el9",
+        "ubuntu-22.04, ubuntu, 22.04, debian, VERSION, 22.04.4 LTS (Jammy Jellyfish)",
+    })
+    void testCorpus(String file, String id, String versionId, String idLike, String key, String value)
+            throws IOException {
+        // Act
+        Map<String, String> all;
+        Map<String, String> kept;
+        try (InputStream in = getClass().getResourceAsStream("/os-release/" + file)) {
+            all = new OsReleaseParser(null).parse(in);
+        }
+        try (InputStream in = getClass().getResourceAsStream("/os-release/" + file)) {
+            kept = new OsReleaseParser(List.of("ID", "VERSION_ID", "ID_LIKE")).parse(in);
+        }
+
+        // Assert
+        assertEquals(id, all.get("ID"));
+        assertEquals(versionId, all.get("VERSION_ID"));
+        assertEquals(idLike, all.get("ID_LIKE"));
+        assertEquals(value, all.get(key));
+        assertFalse(kept.containsKey(key));
+        assertEquals(id, kept.get("ID"));
+        assertEquals(versionId, kept.get("VERSION_ID"));
+        assertEquals(idLike, kept.get("ID_LIKE"));
+    }
+
+    @Test
+    void testQuoting() throws IOException {
+        // Act
+        Map<String, String> values = parse("A=unquoted\n"
+                + "B=\"double quoted\"\n"
+                + "C='single quoted'\n"
+                + "D=\"it's \\\"escaped\\\" \\$HOME \\\\ \\`cmd\\` \\n\"\n"
+                + "E='no \\\"escape\\\" in single quotes'\n"
+                + "F=esc\\ aped\\'\n"
+                + "G=con\"cat\"'enated'\n"
+                + "H=\"\"\n"
+                + "I=\n");
+
+        // Assert
+        assertEquals("unquoted", values.get("A"));
+        assertEquals("double quoted", values.get("B"));
+        assertEquals("single quoted", values.get("C"));
+        assertEquals("it's \"escaped\" $HOME \\ `cmd` \\n", values.get("D"));
+        assertEquals("no \\\"escape\\\" in single quotes", values.get("E"));
+        assertEquals("esc aped'", values.get("F"));
+        assertEquals("concatenated", values.get("G"));
+        assertEquals("", values.get("H"));
+        assertEquals("", values.get("I"));
+    }
+
+    @Test
+    void testLines() throws IOException {
+        // Act
+        Map<String, String> values = parse("# A comment\n"
+                + "\n"
+                + "  INDENTED=yes\r\n"
+                + "NOT AN ASSIGNMENT\n"
+                + "1INVALID=key\n"
+                + "TRAILING=value # comment\n"
+                + "CONTINUED=\"first \\\n"
+                + "second\"\n"
+                + "MULTILINE='first\n"
+                + "second'\n"
+                + "REPEATED=first\n"
+                + "REPEATED=last\n"
+                + "UNICODE=\"Ubuntu 24.04 \u2013 Noble\"\n"
+                + "LAST=no newline");
+
+        // Assert
+        assertEquals(
+                List.of("INDENTED", "TRAILING", "CONTINUED", "MULTILINE", "REPEATED", "UNICODE", "LAST"),
+                List.copyOf(values.keySet()));
+        assertEquals("yes", values.get("INDENTED"));
+        assertEquals("value", values.get("TRAILING"));
+        assertEquals("first second", values.get("CONTINUED"));
+        assertEquals("first\nsecond", values.get("MULTILINE"));
+        assertEquals("last", values.get("REPEATED"));
+        assertEquals("Ubuntu 24.04 \u2013 Noble", values.get("UNICODE"));
+        assertEquals("no", values.get("LAST"));
+    }
+
+    @Test
+    void testUnterminatedQuote() throws IOException {
+        // Act
+        Map<String, String> values = parse("ID=fedora\nNAME=\"Fedora\n");
+
+        // Assert
+        assertEquals(Map.of("ID", "fedora"), values);
+    }
+
+    private static Map<String, String> parse(String content) throws IOException {
+        return new OsReleaseParser(null).parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static eu.maveniverse.maven.os.TestProjects.dependency;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Resource;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+class ReferenceScannerTest {
+
+    private static final String REFERENCE = "${os.detected.release}";
+
+    @Test
+    void testNoReference() {
+        // Arrange
+        Model model = new Model();
+        model.getProperties().setProperty("native.classifier", "${os.detected.classifier}");
+        model.setBuild(new Build());
+        model.getBuild().setFinalName("app-${os.detected.classifier}");
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertFalse(referenced);
+        assertFalse(ReferenceScanner.isReferenced(null, Detector.DETECTED_RELEASE));
+    }
+
+    @Test
+    void testProperties() {
+        // Arrange
+        Model model = new Model();
+        model.getProperties().setProperty("native.release", REFERENCE);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testFinalName() {
+        // Arrange
+        Model model = new Model();
+        model.setBuild(new Build());
+        model.getBuild().setFinalName("app-" + REFERENCE);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testResources() {
+        // Arrange
+        Resource resource = new Resource();
+        resource.setDirectory("src/main/" + REFERENCE);
+        Model model = new Model();
+        model.setBuild(new Build());
+        model.getBuild().addResource(resource);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testFilters() {
+        // Arrange
+        Model model = new Model();
+        model.setBuild(new Build());
+        model.getBuild().addFilter("src/main/filters/" + REFERENCE + ".properties");
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testDependencyManagement() {
+        // Arrange
+        DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(dependency("com.example", "native", "1.0", REFERENCE));
+        Model model = new Model();
+        model.setDependencyManagement(depMgmt);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testPluginConfiguration() {
+        // Arrange
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        Xpp3Dom release = new Xpp3Dom("release");
+        release.setValue(REFERENCE);
+        configuration.addChild(release);
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId("maven-antrun-plugin");
+        plugin.setConfiguration(configuration);
+        Model model = new Model();
+        model.setBuild(new Build());
+        model.getBuild().addPlugin(plugin);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testInactiveProfileDependencyManagement() {
+        // Arrange
+        DependencyManagement depMgmt = new DependencyManagement();
+        depMgmt.addDependency(dependency("com.example", "native", "1.0", REFERENCE));
+        Profile profile = new Profile();
+        profile.setId("native");
+        profile.setDependencyManagement(depMgmt);
+        Model model = new Model();
+        model.addProfile(profile);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testProfileBuildResources() {
+        // Arrange
+        Resource resource = new Resource();
+        resource.setDirectory("src/main/resources");
+        resource.addInclude("**/" + REFERENCE + "/*");
+        Profile profile = new Profile();
+        profile.setId("native");
+        profile.setBuild(new BuildBase());
+        profile.getBuild().addTestResource(resource);
+        Model model = new Model();
+        model.addProfile(profile);
+
+        // Act
+        boolean referenced = isReferenced(model);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    @Test
+    void testParent() {
+        // Arrange
+        Model parentModel = new Model();
+        parentModel.setBuild(new Build());
+        parentModel.getBuild().setFinalName(REFERENCE);
+        MavenProject child = new MavenProject(new Model());
+        child.setParent(new MavenProject(parentModel));
+
+        // Act
+        boolean referenced = ReferenceScanner.isReferenced(List.of(child), Detector.DETECTED_RELEASE);
+
+        // Assert
+        assertTrue(referenced);
+    }
+
+    private static boolean isReferenced(Model model) {
+        return ReferenceScanner.isReferenced(List.of(new MavenProject(model)), Detector.DETECTED_RELEASE);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.junit.jupiter.api.Test;
+
+class RepositoryArtifactAvailabilityTest {
+
+    private final Artifact artifact = new DefaultArtifact("com.example:native:jar:linux-x86_64:1.0");
+    private final RemoteRepository central =
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2").build();
+    private final RemoteRepository mirror =
+            new RemoteRepository.Builder("mirror", "default", "https://mirror.example.com/maven2").build();
+
+    @Test
+    void testNotFound() {
+        // Arrange
+        ArtifactResolutionException e = failure(
+                new ArtifactNotFoundException(artifact, central), new ArtifactNotFoundException(artifact, mirror));
+
+        // Act & Assert
+        assertEquals(ArtifactAvailability.Status.NOT_FOUND, RepositoryArtifactAvailability.getStatus(e));
+    }
+
+    @Test
+    void testTransientError() {
+        // Arrange: the artifact is not in one repository, and the other one times out.
+        ArtifactResolutionException e = failure(
+                new ArtifactNotFoundException(artifact, central),
+                new ArtifactTransferException(artifact, mirror, "Read timed out"));
+
+        // Act & Assert
+        assertEquals(ArtifactAvailability.Status.FAILED, RepositoryArtifactAvailability.getStatus(e));
+    }
+
+    @Test
+    void testNoException() {
+        assertEquals(ArtifactAvailability.Status.FAILED, RepositoryArtifactAvailability.getStatus(failure()));
+    }
+
+    private ArtifactResolutionException failure(Exception... exceptions) {
+        ArtifactResult result = new ArtifactResult(new ArtifactRequest(artifact, List.of(central, mirror), null));
+        for (Exception exception : exceptions) {
+            result.addException(exception);
+        }
+        return new ArtifactResolutionException(List.of(result));
+    }
+}
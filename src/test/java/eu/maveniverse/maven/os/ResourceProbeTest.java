@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ResourceProbeTest {
+
+    private static final String CPUINFO = "processor\t: 0\nphysical id\t: 0\ncore id\t\t: 0\n\n"
+            + "processor\t: 1\nphysical id\t: 0\ncore id\t\t: 0\n\n"
+            + "processor\t: 2\nphysical id\t: 0\ncore id\t\t: 1\n\n"
+            + "processor\t: 3\nphysical id\t: 0\ncore id\t\t: 1\n";
+    private static final String MEMINFO = "MemTotal:       16384000 kB\nMemFree:         1024000 kB\n";
+
+    private final Map<String, String> files = new HashMap<>();
+
+    private Map<String, String> detect() {
+        final Map<String, String> detected = new LinkedHashMap<>();
+        detected.put(Detector.DETECTED_NAME, "linux");
+        new ResourceProbe().detect(this::readFile, detected);
+        return detected;
+    }
+
+    private ByteArrayInputStream readFile(String fileName) throws FileNotFoundException {
+        final String content = files.get(fileName);
+        if (content == null) {
+            throw new FileNotFoundException(fileName);
+        }
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCgroupV2() {
+        files.put("/proc/cpuinfo", CPUINFO);
+        files.put("/proc/meminfo", MEMINFO);
+        files.put("/proc/self/cgroup", "0::/kubepods/pod1\n");
+        files.put("/sys/fs/cgroup/kubepods/pod1/cpu.max", "150000 100000\n");
+        files.put("/sys/fs/cgroup/kubepods/cpu.max", "max 100000\n");
+        files.put("/sys/fs/cgroup/kubepods/pod1/cpuset.cpus.effective", "0-2\n");
+        files.put("/sys/fs/cgroup/kubepods/pod1/memory.max", "max\n");
+        files.put("/sys/fs/cgroup/kubepods/memory.max", "2147483648\n");
+
+        final Map<String, String> detected = detect();
+
+        assertEquals("4", detected.get(ResourceProbe.DETECTED_CPU_LOGICAL));
+        assertEquals("2", detected.get(ResourceProbe.DETECTED_CPU_PHYSICAL));
+        assertEquals("3", detected.get(ResourceProbe.DETECTED_CPU_CPUSET));
+        assertEquals("1.5", detected.get(ResourceProbe.DETECTED_CPU_QUOTA));
+        assertEquals("2", detected.get(ResourceProbe.DETECTED_CPU_EFFECTIVE));
+        assertEquals("16777216000", detected.get(ResourceProbe.DETECTED_MEMORY_TOTAL));
+        assertEquals("2147483648", detected.get(ResourceProbe.DETECTED_MEMORY_LIMIT));
+        assertEquals("2147483648", detected.get(ResourceProbe.DETECTED_MEMORY_EFFECTIVE));
+    }
+
+    @Test
+    void testCgroupV1() {
+        files.put("/proc/cpuinfo", CPUINFO);
+        files.put("/proc/meminfo", MEMINFO);
+        files.put("/proc/self/cgroup", "4:memory:/\n3:cpu,cpuacct:/\n2:cpuset:/\n");
+        files.put("/sys/fs/cgroup/cpu,cpuacct/cpu.cfs_quota_us", "-1\n");
+        files.put("/sys/fs/cgroup/cpu,cpuacct/cpu.cfs_period_us", "100000\n");
+        files.put("/sys/fs/cgroup/cpuset/cpuset.cpus", "0-1,3\n");
+        files.put("/sys/fs/cgroup/memory/memory.limit_in_bytes", "9223372036854771712\n");
+
+        final Map<String, String> detected = detect();
+
+        assertNull(detected.get(ResourceProbe.DETECTED_CPU_QUOTA));
+        assertEquals("3", detected.get(ResourceProbe.DETECTED_CPU_CPUSET));
+        assertEquals("3", detected.get(ResourceProbe.DETECTED_CPU_EFFECTIVE));
+        assertNull(detected.get(ResourceProbe.DETECTED_MEMORY_LIMIT));
+        assertEquals("16777216000", detected.get(ResourceProbe.DETECTED_MEMORY_EFFECTIVE));
+    }
+
+    @Test
+    void testNoFiles() {
+        final Map<String, String> detected = detect();
+
+        assertEquals(1, detected.size());
+    }
+
+    @Test
+    void testCountCpus() {
+        assertEquals(1, ResourceProbe.countCpus("0"));
+        assertEquals(7, ResourceProbe.countCpus("0-3,8,10-11"));
+        assertEquals(0, ResourceProbe.countCpus("3-1"));
+        assertEquals(0, ResourceProbe.countCpus("a"));
+    }
+}
@@ -53,6 +53,29 @@ class SystemPropertyAndFileProviderTest {
         }
     }
 
+    @Test
+    void testScopedSystemPropertyOperations() {
+        // Arrange
+        SystemPropertyOperationProvider provider = new Detector.ScopedSystemPropertyOperations();
+        String testKey = "test.scoped.property.key";
+
+        try {
+            // Act
+            provider.setSystemProperty(testKey, "scoped");
+            String scopedValue = System.getProperty(testKey);
+            System.setProperty(Detector.SYSTEM_PROPERTIES_PROPERTY, "true");
+            provider.setSystemProperty(testKey, "legacy");
+            String legacyValue = System.getProperty(testKey);
+
+            // Assert
+            assertNull(scopedValue);
+            assertEquals("legacy", legacyValue);
+        } finally {
+            System.clearProperty(testKey);
+            System.clearProperty(Detector.SYSTEM_PROPERTIES_PROPERTY);
+        }
+    }
+
     @Test
     void testSimpleFileOperations(@TempDir Path tempDir) throws IOException {
         // Arrange
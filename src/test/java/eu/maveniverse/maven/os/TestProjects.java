@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Guillaume Nodet <gnodet@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.maveniverse.maven.os;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Builds the projects and dependencies used by the tests of the model interpolation, reference scanning, classifier
+ * fallback and prefetch.
+ */
+final class TestProjects {
+
+    /**
+     * Returns a project with a single {@code com.example:native:1.0} dependency with the given classifier.
+     */
+    static MavenProject project(String classifier) {
+        Model model = new Model();
+        model.addDependency(dependency("com.example", "native", "1.0", classifier));
+        return new MavenProject(model);
+    }
+
+    /**
+     * Returns the classifier of the first dependency of the project.
+     */
+    static String classifier(MavenProject project) {
+        return project.getModel().getDependencies().get(0).getClassifier();
+    }
+
+    static Dependency dependency(String groupId, String artifactId, String version, String classifier) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setClassifier(classifier);
+        return dependency;
+    }
+
+    private TestProjects() {}
+}